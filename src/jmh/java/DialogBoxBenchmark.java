@@ -0,0 +1,99 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Circle;
+
+/**
+ * Measures the time to build the dialog box of one chat message, without TestFX.
+ * Compares loading the old FXML template per message, building a {@link DialogBox} in code, and reusing one
+ * {@link DialogBox} the way a transcript cell does. Each message also gets a CSS pass so styling cost is included.
+ * Run with {@code ./gradlew dialogBoxBenchmark}.
+ */
+public class DialogBoxBenchmark {
+    private static final int WARMUP_MESSAGES = 2_000;
+    private static final int MEASURED_MESSAGES = 10_000;
+    private static final String TEXT = "Got it, I've added this task:\n  [T][ ] read book\nNow you have 3 tasks.";
+
+    private final Image image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/mike.png"));
+    private final Group root = new Group();
+    private final DialogBox reusedDialogBox = new DialogBox();
+
+    /**
+     * Driver function.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(1);
+        Platform.startup(() -> {
+            new DialogBoxBenchmark().run();
+            finished.countDown();
+        });
+        finished.await();
+        Platform.exit();
+    }
+
+    private void run() {
+        new Scene(root);
+        measure("fxml template per message", i -> new LegacyDialogBox(TEXT + i, image));
+        measure("code built per message", i -> DialogBox.getMikeDialog(TEXT + i, image));
+        measure("reused dialog box", i -> {
+            reusedDialogBox.setMessage(TEXT + i, image, i % 2 == 0);
+            return reusedDialogBox;
+        });
+    }
+
+    private void measure(String name, IntFunction<Node> createMessage) {
+        for (int i = 0; i < WARMUP_MESSAGES; i++) {
+            show(createMessage.apply(i));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_MESSAGES; i++) {
+            show(createMessage.apply(i));
+        }
+        double microsPerMessage = (System.nanoTime() - start) / 1e3 / MEASURED_MESSAGES;
+        System.out.printf("%-28s %8.1f us/message%n", name, microsPerMessage);
+    }
+
+    private void show(Node node) {
+        root.getChildren().setAll(node);
+        root.applyCss();
+        root.getChildren().clear();
+    }
+
+    /**
+     * The dialog box as it was built before, from an FXML template parsed per message.
+     */
+    private static class LegacyDialogBox extends HBox {
+        @FXML
+        private Label dialog;
+        @FXML
+        private Circle displayPicture;
+        @FXML
+        private HBox pictureContainer;
+
+        LegacyDialogBox(String text, Image img) {
+            try {
+                FXMLLoader fxmlLoader = new FXMLLoader(DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml"));
+                fxmlLoader.setController(this);
+                fxmlLoader.setRoot(this);
+                fxmlLoader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            getStylesheets().add(DialogBoxBenchmark.class.getResource("/styles/DialogBox.css").toExternalForm());
+            dialog.setText(text);
+            displayPicture.setFill(new ImagePattern(img));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import mike.TaskGenerator;
+
+/**
+ * Measures how long the app takes from launch to its first paint, and to having loaded the tasks, with a large task
+ * file on disk. Each run starts the shadow jar in a new JVM with {@code -Dmike.startupProbe=true}, reads the lines
+ * {@link Main} prints at those two points, and kills the JVM so the task file is never rewritten. The task file is
+ * written to {@code ./data/mike.txt}, so run it in a scratch directory.
+ * Runs with and without the class data sharing archive are reported side by side against {@value #TARGET_MILLIS} ms.
+ * Needs a display. Run with {@code ./gradlew startupBenchmark}.
+ * <p>
+ * Usage: {@code StartupBenchmark [jar] [archive] [tasks] [runs]}
+ */
+public class StartupBenchmark {
+    private static final long TARGET_MILLIS = 300;
+    private static final int DEFAULT_TASKS = 1_000_000;
+    private static final int DEFAULT_RUNS = 5;
+    private static final String FIRST_PAINT = "mike: first paint";
+    private static final String TASKS_LOADED = "mike: tasks loaded";
+
+    private final File jar;
+    private final File archive;
+    private final File workingDirectory;
+
+    private StartupBenchmark(File jar, File archive, File workingDirectory) {
+        this.jar = jar;
+        this.archive = archive;
+        this.workingDirectory = workingDirectory;
+    }
+
+    /**
+     * Driver function.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        File jar = new File(args.length > 0 ? args[0] : "build/libs/mike.jar");
+        File archive = new File(args.length > 1 ? args[1] : "build/libs/mike.jsa");
+        int taskCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TASKS;
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RUNS;
+
+        File workingDirectory = new File(".").getAbsoluteFile();
+        writeTaskFile(workingDirectory.toPath().resolve("data/mike.txt"), taskCount);
+        System.out.printf("%d tasks, target first paint %d ms%n", taskCount, TARGET_MILLIS);
+
+        StartupBenchmark benchmark = new StartupBenchmark(jar, archive, workingDirectory);
+        benchmark.measure("plain", false, runs);
+        if (archive.isFile()) {
+            benchmark.measure("cds", true, runs);
+        } else {
+            System.out.println("No archive at " + archive + ", run ./gradlew shadowJar to record one.");
+        }
+    }
+
+    private static void writeTaskFile(Path path, int taskCount) throws IOException {
+        Files.createDirectories(path.getParent());
+        TaskGenerator generator = new TaskGenerator(42);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < taskCount; i++) {
+                out.write(generator.nextLine());
+                out.newLine();
+            }
+        }
+    }
+
+    private void measure(String name, boolean isArchiveUsed, int runs) throws IOException, InterruptedException {
+        long[] firstPaintMillis = new long[runs];
+        long[] loadedMillis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] millis = launch(isArchiveUsed);
+            firstPaintMillis[i] = millis[0];
+            loadedMillis[i] = millis[1];
+        }
+        long firstPaint = getMedian(firstPaintMillis);
+        System.out.printf("%-6s first paint %5d ms (%s), tasks loaded %6d ms, median of %d%n", name, firstPaint,
+                firstPaint <= TARGET_MILLIS ? "on target" : "over target", getMedian(loadedMillis), runs);
+    }
+
+    /**
+     * Launches the app once.
+     * @return The milliseconds from launch to the first paint and to the tasks being loaded.
+     */
+    private long[] launch(boolean isArchiveUsed) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (isArchiveUsed) {
+            command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        }
+        command.addAll(Arrays.asList("-Dmike.startupProbe=true", "-jar", jar.getAbsolutePath()));
+        ProcessBuilder builder = new ProcessBuilder(command).directory(workingDirectory).redirectErrorStream(true);
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        long[] millis = {-1, -1};
+        List<String> output = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((millis[0] < 0 || millis[1] < 0) && (line = in.readLine()) != null) {
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                if (line.equals(FIRST_PAINT)) {
+                    millis[0] = elapsedMillis;
+                } else if (line.equals(TASKS_LOADED)) {
+                    millis[1] = elapsedMillis;
+                } else {
+                    output.add(line);
+                }
+            }
+        } finally {
+            process.destroyForcibly().waitFor();
+        }
+        if (millis[0] < 0 || millis[1] < 0) {
+            throw new IllegalStateException("Mike exited before it was painted and loaded:\n"
+                    + String.join("\n", output));
+        }
+        return millis;
+    }
+
+    private static long getMedian(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
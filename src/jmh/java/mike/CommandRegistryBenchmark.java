@@ -0,0 +1,71 @@
+package mike;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mike.command.Command;
+import mike.command.ExitCommand;
+
+/**
+ * Measures command dispatch as the number of registered commands grows; the cost should stay flat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandRegistryBenchmark {
+    @Param({"0", "100", "1000"})
+    private int extraCommandCount;
+
+    private CommandScanner scanner;
+    private CommandParser parser;
+
+    /**
+     * Registers the extra commands once per trial.
+     */
+    @Setup
+    public void setUp() {
+        CommandRegistry registry = new CommandRegistry();
+        for (int i = 0; i < extraCommandCount; i++) {
+            registry.register(new CommandSpec("plugin" + i, arguments -> new ExitCommand()));
+        }
+        scanner = new CommandScanner(registry);
+        parser = new CommandParser(scanner);
+    }
+
+    /**
+     * Dispatches a built in command.
+     */
+    @Benchmark
+    public Command parseBuiltIn() throws MikeException {
+        scanner.scan("mark 12");
+        return parser.parse();
+    }
+
+    /**
+     * Dispatches an unknown command word.
+     */
+    @Benchmark
+    public String parseUnknown() {
+        scanner.scan("unknown 12");
+        try {
+            parser.parse();
+            return null;
+        } catch (MikeException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package mike;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mike.command.Command;
+
+/**
+ * Compares a throwaway scanner and parser per input against the reusable token buffer used by {@link Mike}.
+ * Run with {@code ./gradlew jmh} and read {@code gc.alloc.rate.norm} for the bytes allocated per command.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandScannerBenchmark {
+    @Param({
+        "list",
+        "mark 12",
+        "find meeting /fuzzy on",
+        "list /view date /attribute 2024-01-31",
+        "deadline return book /by 2024-02-01"
+    })
+    private String input;
+
+    private CommandScanner scanner;
+    private CommandParser parser;
+
+    /**
+     * Creates the reusable scanner once per trial.
+     */
+    @Setup
+    public void setUp() {
+        scanner = new CommandScanner();
+        parser = new CommandParser(scanner);
+    }
+
+    /**
+     * Scans into a new token list, one {@link Token} and substring per lexeme.
+     */
+    @Benchmark
+    public List<Token> scanTokensPerInput() {
+        return new CommandScanner(input).scanTokens();
+    }
+
+    /**
+     * Scans into the reused primitive token buffer.
+     */
+    @Benchmark
+    public int scanReused() {
+        return scanner.scan(input);
+    }
+
+    /**
+     * Walks the reused buffer the way the parser does, comparing text in place.
+     */
+    @Benchmark
+    public void scanReusedAndInspect(Blackhole blackhole) {
+        int size = scanner.scan(input);
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(scanner.type(i));
+            blackhole.consume(scanner.textEquals(i, "on"));
+        }
+    }
+
+    /**
+     * Scans and parses with a new scanner and parser per input, as {@link Mike} used to.
+     */
+    @Benchmark
+    public Command parsePerInput() throws MikeException {
+        return new CommandParser(new CommandScanner(input).scanTokens()).parse();
+    }
+
+    /**
+     * Scans and parses with the reused scanner and parser; only the kept literals and the command are allocated.
+     */
+    @Benchmark
+    public Command parseReused() throws MikeException {
+        scanner.scan(input);
+        return parser.parse();
+    }
+}
@@ -0,0 +1,67 @@
+package mike;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ListView#keywordFilter(String)} per description, for exact and fuzzy searches and for a keyword
+ * that is in about one description in eight against one that is in none.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListViewBenchmark {
+    private static final int DESCRIPTIONS = 1024;
+
+    @Param({"false", "true"})
+    private boolean isFuzzy;
+
+    @Param({TaskGenerator.COMMON_KEYWORD, "dentist"})
+    private String keyword;
+
+    private String[] descriptions;
+    private ListView listView;
+
+    /**
+     * Generates the descriptions and the filter once per trial.
+     */
+    @Setup
+    public void setUp() throws MikeException {
+        TaskGenerator generator = new TaskGenerator(42);
+        descriptions = new String[DESCRIPTIONS];
+        for (int i = 0; i < DESCRIPTIONS; i++) {
+            descriptions[i] = generator.nextDescription();
+        }
+        listView = new ListView(ListViewType.DESCRIPTION, keyword, isFuzzy);
+    }
+
+    /**
+     * Filters every description once; the score is per description.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DESCRIPTIONS)
+    public int keywordFilter() {
+        int matches = 0;
+        for (String description : descriptions) {
+            if (listView.keywordFilter(description)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
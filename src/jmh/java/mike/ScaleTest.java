@@ -0,0 +1,144 @@
+package mike;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Replays a generated workload through {@link Mike#getResponse(String)} against a generated task file, and reports
+ * the throughput, the latency of each kind of command, the heap high-water mark and the size of the saved file.
+ * <p>
+ * It writes {@code ./data/mike.txt} in the working directory and archives into {@code ./data/archive}, so run it in
+ * a scratch directory, one task count per JVM so the heap high-water mark is its own. {@code gradlew scaleTest}
+ * does this for 10k, 1M and 10M tasks.
+ * <p>
+ * Usage: {@code ScaleTest [tasks] [commands] [seed]}
+ */
+public class ScaleTest {
+    private static final String FILE_PATH = "./data/mike.txt";
+    private static final int DEFAULT_TASKS = 10_000;
+    private static final int DEFAULT_COMMANDS = 1000;
+    private static final long DEFAULT_SEED = 42;
+
+    private final int taskCount;
+    private final int commandCount;
+    private final long seed;
+    private final Map<String, Histogram> latencies;
+    private final Histogram allLatencies;
+
+    /**
+     * Constructor.
+     * @param taskCount Number of tasks in the generated file.
+     * @param commandCount Number of commands to replay.
+     * @param seed The seed of the tasks and commands.
+     */
+    public ScaleTest(int taskCount, int commandCount, long seed) {
+        this.taskCount = taskCount;
+        this.commandCount = commandCount;
+        this.seed = seed;
+        this.latencies = new TreeMap<>();
+        this.allLatencies = new Histogram();
+    }
+
+    /**
+     * Generates the task file, loads it, replays the commands, archives the list and saves.
+     * @return The report of the run.
+     */
+    public String run() throws IOException, MikeException {
+        writeTaskFile();
+        long generatedFileBytes = new File(FILE_PATH).length();
+
+        long loadStart = System.nanoTime();
+        Mike mike = new Mike();
+        long loadNanos = System.nanoTime() - loadStart;
+
+        List<String> commands = new WorkloadGenerator(seed, taskCount).nextCommands(commandCount);
+        long replayStart = System.nanoTime();
+        for (String command : commands) {
+            replay(mike, command);
+        }
+        long replayNanos = System.nanoTime() - replayStart;
+
+        long saveStart = System.nanoTime();
+        mike.save();
+        long saveNanos = System.nanoTime() - saveStart;
+        long savedFileBytes = new File(FILE_PATH).length();
+
+        // archived last, as it empties the list
+        replay(mike, "archive scale-test-" + seed + ".txt");
+
+        double replaySeconds = replayNanos / 1e9;
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%d tasks, %d commands, seed %d%n", taskCount, commandCount, seed))
+                .append(String.format("file: %.1f MB generated, %.1f MB saved%n",
+                        generatedFileBytes / 1e6, savedFileBytes / 1e6))
+                .append(String.format("load %.0f ms, save %.0f ms%n", loadNanos / 1e6, saveNanos / 1e6))
+                .append(String.format("throughput %.0f commands/s (%.2f s)%n", commandCount / replaySeconds,
+                        replaySeconds))
+                .append(String.format("heap high-water mark %.0f MB%n", getPeakHeapBytes() / 1e6))
+                .append("latency (ms):");
+        appendLatency(report, "all", allLatencies);
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            appendLatency(report, entry.getKey(), entry.getValue());
+        }
+        return report.toString();
+    }
+
+    private void writeTaskFile() throws IOException {
+        Path path = Paths.get(FILE_PATH);
+        Files.createDirectories(path.getParent());
+        TaskGenerator generator = new TaskGenerator(seed);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < taskCount; i++) {
+                out.write(generator.nextLine());
+                out.newLine();
+            }
+        }
+    }
+
+    private void replay(Mike mike, String command) {
+        long start = System.nanoTime();
+        mike.getResponse(command);
+        long latency = System.nanoTime() - start;
+        allLatencies.record(latency);
+        latencies.computeIfAbsent(WorkloadGenerator.getKind(command), kind -> new Histogram()).record(latency);
+    }
+
+    private static void appendLatency(StringBuilder report, String kind, Histogram histogram) {
+        report.append(String.format("%n  %-12s count %7d, p50 %9.3f, p99 %9.3f, max %9.3f", kind,
+                histogram.getCount(), histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6, histogram.getMax() / 1e6));
+    }
+
+    private static long getPeakHeapBytes() {
+        // the sum of the pool peaks, which may have been reached at different times, so an upper bound
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Runs the scale test in the working directory and prints the report.
+     * @param args Optionally, the number of tasks, the number of commands and the seed.
+     */
+    public static void main(String[] args) throws IOException, MikeException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        int commandCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_COMMANDS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        System.out.println(new ScaleTest(taskCount, commandCount, seed).run());
+    }
+}
@@ -0,0 +1,88 @@
+package mike;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading and saving a generated task file with {@link Storage}.
+ * Files are written under ./jmh-storage, which is deleted after each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StorageBenchmark {
+    private static final String DIRECTORY = "jmh-storage";
+
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    private Storage loadStorage;
+    private Storage writeStorage;
+    private TaskSnapshot tasks;
+
+    /**
+     * Writes the generated task file to load, and checks that every line loads.
+     */
+    @Setup
+    public void setUp() throws IOException, MikeException {
+        String loadPath = "./" + DIRECTORY + "/load-" + taskCount + ".txt";
+        Files.createDirectories(Path.of(DIRECTORY));
+        Files.write(Path.of(loadPath), new TaskGenerator(42).nextLines(taskCount));
+        loadStorage = new Storage(loadPath);
+        writeStorage = new Storage("./" + DIRECTORY + "/write-" + taskCount + ".txt");
+
+        tasks = loadStorage.load().snapshot();
+        if (tasks.size() != taskCount) {
+            throw new IllegalStateException("Loaded " + tasks.size() + " of " + taskCount + " tasks");
+        }
+    }
+
+    /**
+     * Deletes the task files.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        File[] files = new File(DIRECTORY).listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.deleteIfExists(Path.of(DIRECTORY));
+    }
+
+    /**
+     * Reads and parses the task file into a task list.
+     */
+    @Benchmark
+    public TaskList load() throws MikeException {
+        return loadStorage.load();
+    }
+
+    /**
+     * Writes the task list to a file.
+     */
+    @Benchmark
+    public void writeToFile() {
+        writeStorage.writeToFile(tasks);
+    }
+}
@@ -0,0 +1,136 @@
+package mike;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import mike.task.Deadline;
+import mike.task.Event;
+import mike.task.Task;
+import mike.task.Todo;
+
+/**
+ * Generates a repeatable mix of synthetic tasks for benchmarks: half todos, a third deadlines and the rest events,
+ * with two to four word descriptions, dates in 2024 and about a quarter of the tasks done.
+ * The same seed always gives the same tasks, so results from different runs compare like with like.
+ */
+public class TaskGenerator {
+    /** A word in roughly one description in {@value #VERB_COUNT}, for keyword searches with a known hit rate. */
+    public static final String COMMON_KEYWORD = "review";
+
+    private static final int VERB_COUNT = 8;
+    private static final String[] VERBS = {
+        "review", "write", "read", "buy", "call", "fix", "plan", "return"
+    };
+    private static final String[] NOUNS = {
+        "book", "report", "milk", "meeting", "slides", "car", "tutorial", "assignment", "groceries", "project",
+        "email", "budget", "lecture", "quiz", "invoice", "garden"
+    };
+    private static final String[] DETAILS = {
+        "", "", "for mum", "before class", "with team", "at home", "again", "for cs2103"
+    };
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 366;
+
+    private final Random random;
+
+    /**
+     * Constructor.
+     * @param seed The seed, so that the same tasks are generated every time.
+     */
+    public TaskGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns the next description, e.g. "review slides before class".
+     */
+    public String nextDescription() {
+        String description = VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+        String detail = DETAILS[random.nextInt(DETAILS.length)];
+        return detail.isEmpty() ? description : description + " " + detail;
+    }
+
+    /**
+     * Returns the next date, a day in 2024.
+     */
+    public LocalDate nextDate() {
+        return FIRST_DATE.plusDays(random.nextInt(DAYS));
+    }
+
+    /**
+     * Returns the next search keyword, one of the verbs or nouns that descriptions are made of.
+     */
+    public String nextKeyword() {
+        int index = random.nextInt(VERBS.length + NOUNS.length);
+        return index < VERBS.length ? VERBS[index] : NOUNS[index - VERBS.length];
+    }
+
+    /**
+     * Returns the next task as a line in the format read by {@link Storage#load()}.
+     */
+    public String nextLine() {
+        String description = nextDescription();
+        boolean isDone = random.nextInt(4) == 0;
+        int kind = random.nextInt(6);
+        if (kind < 3) {
+            return "Todo," + description + "," + isDone;
+        }
+        LocalDate date = nextDate();
+        if (kind < 5) {
+            return "Deadline," + description + "," + isDone + "," + date;
+        }
+        return "Event," + description + "," + isDone + "," + date + "," + date.plusDays(random.nextInt(3));
+    }
+
+    /**
+     * Returns the next lines in the format read by {@link Storage#load()}.
+     * @param count Number of lines.
+     */
+    public List<String> nextLines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(nextLine());
+        }
+        return lines;
+    }
+
+    /**
+     * Returns a task list of the next tasks.
+     * @param count Number of tasks.
+     */
+    public TaskList nextTaskList(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(toTask(nextLine()));
+        }
+        TaskList taskList = new TaskList();
+        taskList.addAll(tasks);
+        return taskList;
+    }
+
+    private static Task toTask(String line) {
+        String[] fields = line.split(",");
+        Task task;
+        try {
+            switch (fields[0]) {
+            case "Todo":
+                task = new Todo(fields[1]);
+                break;
+            case "Deadline":
+                task = new Deadline(fields[1], fields[3]);
+                break;
+            default:
+                task = new Event(fields[1], fields[3], fields[4]);
+                break;
+            }
+        } catch (MikeException e) {
+            throw new IllegalStateException(e);
+        }
+        if (fields[2].equals("true")) {
+            task.markAsDone();
+        }
+        return task;
+    }
+}
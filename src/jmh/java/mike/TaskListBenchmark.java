@@ -0,0 +1,80 @@
+package mike;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TaskList#view(ListView)}, which every list and find runs, on generated task lists.
+ * The 1M task list needs a bigger heap than the default, which the fork asks for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskList taskList;
+    private ListView allTasks;
+    private ListView findExact;
+    private ListView findFuzzy;
+    private ListView onDate;
+
+    /**
+     * Generates the task list once per trial.
+     */
+    @Setup
+    public void setUp() throws MikeException {
+        taskList = new TaskGenerator(42).nextTaskList(taskCount);
+        allTasks = new ListView(ListViewType.NONE);
+        findExact = new ListView(ListViewType.DESCRIPTION, TaskGenerator.COMMON_KEYWORD, false);
+        findFuzzy = new ListView(ListViewType.DESCRIPTION, TaskGenerator.COMMON_KEYWORD, true);
+        onDate = new ListView(ListViewType.DATE, "2024-03-14");
+    }
+
+    /**
+     * Renders every task, as {@code list} does.
+     */
+    @Benchmark
+    public String listAll() {
+        return taskList.view(allTasks);
+    }
+
+    /**
+     * Renders the tasks containing a keyword, as {@code find} does.
+     */
+    @Benchmark
+    public String findExact() {
+        return taskList.view(findExact);
+    }
+
+    /**
+     * Renders the tasks almost containing a keyword, as {@code find /fuzzy on} does.
+     */
+    @Benchmark
+    public String findFuzzy() {
+        return taskList.view(findFuzzy);
+    }
+
+    /**
+     * Renders the tasks on a date, as {@code list /view date} does.
+     */
+    @Benchmark
+    public String listOnDate() {
+        return taskList.view(onDate);
+    }
+}
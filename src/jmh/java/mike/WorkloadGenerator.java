@@ -0,0 +1,107 @@
+package mike;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a repeatable stream of user commands against a task list of known size: adds of todos, deadlines and
+ * events, marks, unmarks, deletes, finds and fuzzy finds, in roughly the proportions of a real session.
+ * Task numbers always refer to tasks that exist, as the generator keeps count of the adds and deletes it emits.
+ * The same seed always gives the same commands.
+ */
+public class WorkloadGenerator {
+    /** Percentage of each command in the stream, in the order of {@link #nextCommand()}. */
+    private static final int[] MIX = {20, 10, 5, 15, 5, 10, 25, 10};
+
+    private final Random random;
+    private final TaskGenerator tasks;
+    private int taskCount;
+
+    /**
+     * Constructor.
+     * @param seed The seed, so that the same commands are generated every time.
+     * @param taskCount Number of tasks in the list the commands run against.
+     */
+    public WorkloadGenerator(long seed, int taskCount) {
+        this.random = new Random(seed);
+        this.tasks = new TaskGenerator(seed + 1);
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Returns the kind of a command, e.g. "fuzzy find" for "find book /fuzzy on", to report its latency under.
+     * @param command A command from this generator.
+     */
+    public static String getKind(String command) {
+        String word = command.substring(0, command.indexOf(' ') < 0 ? command.length() : command.indexOf(' '));
+        return command.endsWith("/fuzzy on") ? "fuzzy " + word : word;
+    }
+
+    /**
+     * Returns the next command, e.g. "mark 42".
+     */
+    public String nextCommand() {
+        int roll = random.nextInt(100);
+        int kind = 0;
+        while (roll >= MIX[kind]) {
+            roll -= MIX[kind];
+            kind++;
+        }
+        if (taskCount == 0 && kind >= 3 && kind <= 5) {
+            kind = 0; // nothing to mark or delete
+        }
+
+        switch (kind) {
+        case 0:
+            taskCount++;
+            return "todo " + tasks.nextDescription();
+        case 1:
+            taskCount++;
+            return "deadline " + tasks.nextDescription() + " /by " + tasks.nextDate();
+        case 2:
+            taskCount++;
+            LocalDate from = tasks.nextDate();
+            return "event " + tasks.nextDescription() + " /from " + from + " /to " + from.plusDays(random.nextInt(3));
+        case 3:
+            return "mark " + nextTaskNumber();
+        case 4:
+            return "unmark " + nextTaskNumber();
+        case 5:
+            String delete = "delete " + nextTaskNumber();
+            taskCount--;
+            return delete;
+        case 6:
+            return "find " + tasks.nextKeyword() + " /fuzzy off";
+        default:
+            return "find " + nextTypo(tasks.nextKeyword()) + " /fuzzy on";
+        }
+    }
+
+    /**
+     * Returns the next commands.
+     * @param count Number of commands.
+     */
+    public List<String> nextCommands(int count) {
+        List<String> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(nextCommand());
+        }
+        return commands;
+    }
+
+    private int nextTaskNumber() {
+        return random.nextInt(taskCount) + 1;
+    }
+
+    private String nextTypo(String keyword) {
+        // half the fuzzy finds are spelt right, the rest have one wrong letter
+        if (random.nextBoolean()) {
+            return keyword;
+        }
+        char[] letters = keyword.toCharArray();
+        letters[random.nextInt(letters.length)] = (char) ('a' + random.nextInt(26));
+        return new String(letters);
+    }
+}
@@ -1,13 +1,9 @@
-import java.io.IOException;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
+import javafx.scene.Group;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
@@ -16,56 +12,98 @@ import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 
 /**
- * An example of a custom control using FXML.
+ * A custom control built in code, so no FXML is parsed per message.
  * This control represents a dialog box consisting of an ImageView to represent the speaker's face and a label
- * containing text from the speaker.
+ * containing text from the speaker. A dialog box can be reused for another message with {@link #setMessage}.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private Circle displayPicture;
-    @FXML
-    private HBox pictureContainer;
+    private static final String STYLESHEET = DialogBox.class.getResource("/styles/DialogBox.css").toExternalForm();
+    private static final Map<Image, ImagePattern> IMAGE_PATTERNS = new HashMap<>();
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private final Label dialog;
+    private final Circle displayPicture;
+    private final HBox pictureContainer;
+    private final Group dialogContainer;
+    private boolean isFlipped;
+
+    /**
+     * Constructor for an empty dialog box, to be filled in with {@link #setMessage}.
+     */
+    public DialogBox() {
+        dialog = new Label();
+        dialog.setId("message");
+        dialog.setTextFill(Color.web("#f0f0f0"));
+        dialog.setWrapText(true);
+        dialogContainer = new Group(dialog);
+        dialogContainer.setDisable(true);
+        displayPicture = new Circle();
+        pictureContainer = new HBox(displayPicture);
+
+        getStylesheets().add(STYLESHEET);
+        setAlignment(Pos.TOP_RIGHT);
+        setFillHeight(false);
+        setMaxHeight(Double.MAX_VALUE);
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(500.0);
+        getChildren().setAll(dialogContainer, pictureContainer);
 
         this.setPadding(new Insets(7, 5, 7, 5));
-        initializeDialog(text);
-        initializeDisplayPicture(img);
+        initializeDialog();
+        initializeDisplayPicture();
     }
 
-    private void initializeDialog(String text) {
+    private DialogBox(String text, Image img) {
+        this();
+        dialog.setText(text);
+        displayPicture.setFill(getImagePattern(img));
+    }
+
+    private void initializeDialog() {
         dialog.setPadding(new Insets(7, 7, 7, 7));
         dialog.setLineSpacing(1.2);
         dialog.setOpacity(0.8);
-        dialog.setText(text);
     }
 
-    private void initializeDisplayPicture(Image img) {
+    private void initializeDisplayPicture() {
         pictureContainer.setPadding(new Insets(0, 5, 0, 5));
         displayPicture.setStroke(Color.LIGHTGRAY);
         displayPicture.setStrokeWidth(1);
         displayPicture.setRadius(40);
-        displayPicture.setFill(new ImagePattern(img));
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Returns the fill for a display picture, creating one per image at most.
+     */
+    private static ImagePattern getImagePattern(Image img) {
+        return IMAGE_PATTERNS.computeIfAbsent(img, ImagePattern::new);
+    }
+
+    /**
+     * Shows another message in this dialog box.
+     * @param text The message text.
+     * @param img The speaker's face.
+     * @param isUser True if the user is the speaker, which puts the picture on the right.
+     */
+    public void setMessage(String text, Image img, boolean isUser) {
+        dialog.setText(text);
+        displayPicture.setFill(getImagePattern(img));
+        if (isUser == isFlipped) {
+            flip();
+        }
+    }
+
+    /**
+     * Flips the dialog box such that the ImageView is on the left and text on the right, or back again.
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        isFlipped = !isFlipped;
+        if (isFlipped) {
+            getChildren().setAll(pictureContainer, dialogContainer);
+            setAlignment(Pos.TOP_LEFT);
+        } else {
+            getChildren().setAll(dialogContainer, pictureContainer);
+            setAlignment(Pos.TOP_RIGHT);
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
@@ -1,13 +1,64 @@
+import java.io.IOException;
+import java.util.Arrays;
+
 import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextField;
+import javafx.scene.image.Image;
+import mike.Mike;
+import mike.MikeException;
+import mike.MikeServer;
 
 /**
  * A launcher class to workaround classpath issues.
  */
 public class Launcher {
+    private static final String[] TRAINING_COMMANDS = {
+        "todo read book", "deadline return book /by 2024-01-31", "event book fair /from 2024-02-01 /to 2024-02-02",
+        "list", "list /view date /attribute 2024-01-31", "find book", "find bok /fuzzy on", "mark 1", "unmark 1",
+        "explain find book", "undo", "redo", "delete 1", "stats"
+    };
+
     /**
-     * Driver function.
+     * Driver function. With {@code --server [port]}, shares the task list over a local socket instead of opening
+     * the window. See {@link MikeServer}. With {@code --cds-training}, see {@link #trainClassDataSharing()}.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, MikeException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            MikeServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--cds-training")) {
+            trainClassDataSharing();
+            return;
+        }
         Application.launch(Main.class, args);
     }
+
+    /**
+     * Loads the classes that starting a session needs, without opening the window, so that a run with
+     * {@code -XX:ArchiveClassesAtExit} records them in a class data sharing archive. It runs a few commands against
+     * the task file in the working directory, so run it in a scratch directory.
+     */
+    private static void trainClassDataSharing() throws MikeException {
+        Mike mike = new Mike();
+        for (String command : TRAINING_COMMANDS) {
+            mike.getResponse(command);
+        }
+        mike.save();
+
+        // the class literals load the window classes; none of them is initialized, so no display is needed
+        Class<?>[] windowClasses = {
+            Main.class, MainWindow.class, DialogBox.class, Application.class, FXMLLoader.class, Scene.class,
+            ListView.class, ListCell.class, TextField.class, Label.class, Hyperlink.class, ProgressBar.class,
+            Image.class
+        };
+        System.out.println("Loaded " + windowClasses.length + " window classes for the archive.");
+    }
 }
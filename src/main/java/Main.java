@@ -9,13 +9,17 @@ import mike.Mike;
 
 /**
  * A GUI for Mike using FXML.
+ * The window is shown before the task list is loaded, so a large task file does not delay the first paint.
+ * With {@code -Dmike.startupProbe=true} it prints when the window is first laid out and when the tasks are loaded,
+ * for {@code StartupBenchmark}.
  */
 public class Main extends Application {
 
-    private static final Mike MIKE = new Mike();
     private static final String STAGE_TITLE = "Mike";
+    private static final String STARTUP_PROBE_PROPERTY = "mike.startupProbe";
 
     private Stage window;
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -30,22 +34,52 @@ public class Main extends Application {
             assert ap != null : "ap is null";
             Scene scene = new Scene(ap);
             window.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setMike(MIKE);
-            fxmlLoader.<MainWindow>getController().start();
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            boolean isProbed = Boolean.getBoolean(STARTUP_PROBE_PROPERTY);
+            if (isProbed) {
+                probeFirstPaint(scene);
+            }
+            mainWindow.load(progress -> {
+                Mike mike = new Mike(progress);
+                if (isProbed) {
+                    System.out.println("mike: tasks loaded");
+                }
+                return mike;
+            });
             window.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    private static void probeFirstPaint(Scene scene) {
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                System.out.println("mike: first paint");
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+
     @Override
     public void stop() {
         closeProgram();
     }
 
     private void closeProgram() {
-        MIKE.save();
-        System.out.println("Session terminated: data saved successfully.");
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+        Mike mike = mainWindow == null ? null : mainWindow.getMike();
+        if (mike == null) {
+            // closed while loading, so the file on disk is still the whole list
+            System.out.println("Session terminated before the tasks were loaded: nothing to save.");
+        } else {
+            mike.save();
+            System.out.println("Session terminated: data saved successfully.");
+        }
         window.close();
     }
 }
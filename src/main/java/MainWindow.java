@@ -1,99 +1,443 @@
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
-import javafx.util.Duration;
+import mike.ChatHistory;
+import mike.ChatMessage;
 import mike.Mike;
+import mike.MikeException;
 import mike.MikeResponse;
+import mike.PagedResponse;
+import mike.ReplyQueue;
+import mike.trace.DisplayEvent;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
+ * Commands run one at a time on a background thread so the JavaFX application thread only ever updates the view.
+ * The task list is loaded on that thread too, after the window is shown, with its progress on a progress bar;
+ * input is disabled until it is loaded, and stays disabled with the error shown if loading fails.
+ * The transcript is a virtualized list, so only the visible messages have nodes, and it keeps at most
+ * {@link #TRANSCRIPT_CAPACITY} messages in memory; older ones are appended to {@link #TRANSCRIPT_FILE_PATH}.
+ * Long replies are split into pages of {@link #LINES_PER_PAGE} lines, one message each, and only the first page is
+ * laid out until the user asks to see more.
+ * Replies are paced by {@link #PACING_PROPERTY} seconds from when the command was entered (F2 toggles fast mode,
+ * which shows them as soon as they are ready), and all replies that become due in the same frame are added together.
  */
 public class MainWindow extends AnchorPane {
     private static final double DEFAULT_DELAY = 1.5;
+    private static final String PACING_PROPERTY = "mike.pacing";
+    private static final String IDLE_PROMPT = ">>>";
+    private static final String WORKING_PROMPT = "working...";
+    private static final String LOADING_PROMPT = "loading...";
+    private static final String FAILED_PROMPT = "failed";
+    private static final String TRANSCRIPT_FILE_PATH = "./data/transcript.txt";
+    private static final int TRANSCRIPT_CAPACITY = 1000;
+    private static final int LINES_PER_PAGE = 50;
+    private static final String CANCELLED_TEXT = "Okay, okay, I stopped. Esc cancels whatever I'm still working on.";
 
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
+    @FXML
+    private Label promptLabel;
+    @FXML
+    private ProgressBar loadProgress;
+
+    private volatile Mike mike;
 
-    private Mike mike;
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mike-command");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<CommandTask> pendingCommands = new ArrayList<>();
+    private final long pacingNanos = getConfiguredPacingNanos();
+    private final ReplyQueue<Reply> replyQueue = new ReplyQueue<>(pacingNanos);
+    private final AnimationTimer replyTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            showReadyReplies();
+        }
+    };
+    private boolean isFastMode;
+    private final ChatHistory chatHistory = new ChatHistory(TRANSCRIPT_FILE_PATH, TRANSCRIPT_CAPACITY);
 
     private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/cartoon_sully.png"));
     private final Image mikeImage = new Image(this.getClass().getResourceAsStream("/images/mike.png"));
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setCellFactory(listView -> new DialogCell());
+        userInput.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                cancelPendingCommands();
+            } else if (event.getCode() == KeyCode.F2) {
+                toggleFastMode();
+            }
+        });
+    }
+
+    /**
+     * Creates Mike, loading the task file.
+     */
+    @FunctionalInterface
+    public interface MikeLoader {
+        /**
+         * Creates Mike.
+         * @param progress Told the fraction of the task file loaded so far, from 0 to 1.
+         * @return Mike with the tasks loaded.
+         * @throws MikeException If the task file cannot be read, or a line of it is corrupted.
+         */
+        Mike load(DoubleConsumer progress) throws MikeException;
+    }
+
+    /**
+     * Starting behaviour. Loads Mike on the command thread and greets the user once the tasks are loaded. Input is
+     * only enabled then, so no command runs before Mike exists.
+     * @param loader Creates Mike, telling the given progress consumer how much of the task file is loaded.
+     */
+    public void load(MikeLoader loader) {
+        promptLabel.setText(LOADING_PROMPT);
+        userInput.setDisable(true);
+        loadProgress.setProgress(0);
+        DoubleConsumer progress = fraction -> Platform.runLater(() -> loadProgress.setProgress(fraction));
+        commandExecutor.execute(() -> {
+            try {
+                Mike loadedMike = loader.load(progress);
+                Platform.runLater(() -> handleLoaded(loadedMike));
+            } catch (MikeException e) {
+                Platform.runLater(() -> handleLoadFailed(e.getMessage()));
+            } catch (RuntimeException | OutOfMemoryError e) {
+                Platform.runLater(() -> handleLoadFailed(e.toString()));
+            }
+        });
+    }
+
+    /**
+     * Publishes Mike on the JavaFX application thread, through the volatile field, before any input is accepted.
+     */
+    private void handleLoaded(Mike loadedMike) {
+        mike = loadedMike;
+        loadProgress.setVisible(false);
+        userInput.setDisable(false);
+        userInput.requestFocus();
+        updateWorkingState();
+        queueReply(mike.getGreeting(), false, System.nanoTime());
+        mike.startReminders(reminder -> Platform.runLater(() -> queueReply(reminder, false, System.nanoTime())));
     }
 
     /**
-     * Setter for Mike.
+     * Shows why the tasks could not be loaded. Input stays disabled and nothing is saved on exit, so the task file
+     * is left as it was.
      */
-    public void setMike(Mike mike) {
-        this.mike = mike;
+    private void handleLoadFailed(String reason) {
+        loadProgress.setVisible(false);
+        promptLabel.setText(FAILED_PROMPT);
+        userInput.setPromptText("--restart Mike to try again--");
+        queueReply("Sorry, I could not load your tasks. " + reason, false, System.nanoTime());
     }
 
     /**
-     * Starting behaviour.
+     * Getter.
+     * @return Mike, or null if the tasks are still loading or could not be loaded.
      */
-    public void start() {
-        Timeline timeline = new Timeline();
-        timeline.setCycleCount(0);
-        timeline.getKeyFrames().addAll(
-                new KeyFrame(Duration.seconds(2.0),
-                        event -> displayMikeText(mike.getGreeting()))
-        );
-        timeline.play();
+    public Mike getMike() {
+        return mike;
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Mike's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input and runs it in the background. Mike's reply is appended to the dialog container when
+     * the command completes. Clears the user input after processing.
      */
     @FXML
     private void handleUserInput() {
+        if (mike == null) {
+            return;
+        }
         String inputText = userInput.getText();
         userInput.clear();
+        displayUserText(inputText);
+
+        CommandTask command = new CommandTask(inputText, System.nanoTime());
+        pendingCommands.add(command);
+        updateWorkingState();
+        commandExecutor.execute(command);
+    }
+
+    private void handleCommandDone(CommandTask command, long submittedAt) {
+        pendingCommands.remove(command);
+        updateWorkingState();
+
+        MikeResponse response;
+        try {
+            response = command.get();
+        } catch (CancellationException | InterruptedException e) {
+            queueReply(CANCELLED_TEXT, false, submittedAt);
+            return;
+        } catch (ExecutionException e) {
+            boolean isCancelled = e.getCause() instanceof CancellationException;
+            queueReply(isCancelled ? CANCELLED_TEXT : e.getCause().toString(), false, submittedAt);
+            return;
+        }
+        queueReply(response.getText(), response.isExit(), submittedAt);
+    }
+
+    private void queueReply(CharSequence text, boolean isExit, long submittedAt) {
+        replyQueue.offer(new Reply(text, isExit), submittedAt);
+        replyTimer.start();
+    }
+
+    /**
+     * Shows every reply that is due in one batch, so replies that queued up are laid out once.
+     */
+    private void showReadyReplies() {
+        List<Reply> readyReplies = replyQueue.pollReady(System.nanoTime());
+        if (replyQueue.isEmpty()) {
+            replyTimer.stop();
+        }
+        if (readyReplies.isEmpty()) {
+            return;
+        }
+
+        List<ChatMessage> messages = new ArrayList<>();
+        boolean isExit = false;
+        for (Reply reply : readyReplies) {
+            addMikeMessages(messages, reply.text);
+            isExit = isExit || reply.isExit;
+        }
+        displayMessages(messages);
+
+        if (isExit) {
+            Platform.exit();
+        }
+    }
+
+    private void toggleFastMode() {
+        isFastMode = !isFastMode;
+        replyQueue.setPacingNanos(isFastMode ? 0 : pacingNanos);
+        updateWorkingState();
+    }
 
-        Timeline timeline = new Timeline();
-        timeline.setCycleCount(0);
+    private static long getConfiguredPacingNanos() {
+        try {
+            double seconds = Double.parseDouble(System.getProperty(PACING_PROPERTY, String.valueOf(DEFAULT_DELAY)));
+            return (long) (Math.max(0, seconds) * 1e9);
+        } catch (NumberFormatException e) {
+            return (long) (DEFAULT_DELAY * 1e9);
+        }
+    }
 
-        MikeResponse response = mike.getResponse(inputText);
-        String responseText = response.toString();
+    private void cancelPendingCommands() {
+        for (CommandTask command : new ArrayList<>(pendingCommands)) {
+            command.cancelIfSafe();
+        }
+    }
 
-        // normal behaviour
-        timeline.getKeyFrames().addAll(
-                new KeyFrame(Duration.seconds(0),
-                        event -> displayUserText(inputText)),
-                new KeyFrame(Duration.seconds(DEFAULT_DELAY),
-                        event -> displayMikeText(responseText)));
+    private void updateWorkingState() {
+        boolean isWorking = !pendingCommands.isEmpty();
+        if (mike == null) {
+            promptLabel.setText(LOADING_PROMPT);
+        } else {
+            promptLabel.setText(isWorking ? WORKING_PROMPT : IDLE_PROMPT);
+        }
+        if (isWorking) {
+            userInput.setPromptText("--Esc to cancel--");
+        } else {
+            userInput.setPromptText(isFastMode ? "--type a command (fast mode)--" : "--type a command--");
+        }
+    }
 
-        // on exit
-        if (response.isExit()) {
-            timeline.getKeyFrames().addAll(
-                    new KeyFrame(Duration.seconds(DEFAULT_DELAY),
-                            event -> Platform.exit()));
+    /**
+     * Stops accepting commands and waits briefly for the running command to finish, so the task list can be saved.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        timeline.play();
+    private void addMikeMessages(List<ChatMessage> messages, CharSequence text) {
+        PagedResponse pages = new PagedResponse(text, LINES_PER_PAGE);
+        messages.add(new ChatMessage(false, pages.nextPage()));
+        if (pages.hasNextPage()) {
+            messages.add(new ChatMessage("show more", pages));
+        }
     }
-    private void displayMikeText(String text) {
-        dialogContainer
-                .getChildren()
-                .add(DialogBox.getMikeDialog(text, mikeImage));
+
+    /**
+     * Replaces a "show more" message with the next page of the reply, followed by another "show more" message if
+     * there are still pages left.
+     */
+    private void showMore(ChatMessage moreMessage) {
+        List<ChatMessage> messages = dialogList.getItems();
+        int index = messages.indexOf(moreMessage);
+        if (index < 0) {
+            return;
+        }
+        PagedResponse pages = moreMessage.getMorePages();
+        messages.set(index, new ChatMessage(false, pages.nextPage()));
+        if (pages.hasNextPage()) {
+            messages.add(index + 1, new ChatMessage("show more", pages));
+        }
     }
+
     private void displayUserText(String text) {
-        dialogContainer
-                .getChildren()
-                .add(DialogBox.getUserDialog(text, userImage));
+        displayMessages(List.of(new ChatMessage(true, text)));
+    }
+
+    private void displayMessages(List<ChatMessage> newMessages) {
+        // the cells are laid out on the next pulse, so this times adding the messages rather than drawing them
+        DisplayEvent event = new DisplayEvent();
+        event.begin();
+        List<ChatMessage> messages = dialogList.getItems();
+        messages.addAll(newMessages);
+
+        int spillCount = chatHistory.getSpillCount(messages.size());
+        if (spillCount > 0) {
+            chatHistory.spill(new ArrayList<>(messages.subList(0, spillCount)));
+            dialogList.getItems().remove(0, spillCount);
+        }
+        dialogList.scrollTo(messages.size() - 1);
+        event.end();
+        if (event.shouldCommit()) {
+            long textLength = 0;
+            for (ChatMessage message : newMessages) {
+                textLength += message.getText().length();
+            }
+            event.setMessageCount(newMessages.size());
+            event.setTextLength(textLength);
+            event.commit();
+        }
+    }
+
+    /**
+     * A reply waiting in the {@link ReplyQueue}.
+     */
+    private static class Reply {
+        private final CharSequence text;
+        private final boolean isExit;
+
+        Reply(CharSequence text, boolean isExit) {
+            this.text = text;
+            this.isExit = isExit;
+        }
+    }
+
+    /**
+     * A command waiting for or running on the command thread. Esc stops a command that has not started, and
+     * interrupts a running one only if it just reads the task list. A running change is left to finish under the
+     * write lock and its real reply is shown, so the user is never told a change was stopped when it was made.
+     */
+    private class CommandTask extends FutureTask<MikeResponse> {
+        private final CommandRun commandRun;
+        private final long submittedAt;
+
+        CommandTask(String inputText, long submittedAt) {
+            this(new CommandRun(inputText), submittedAt);
+        }
+
+        private CommandTask(CommandRun commandRun, long submittedAt) {
+            super(commandRun);
+            this.commandRun = commandRun;
+            this.submittedAt = submittedAt;
+        }
+
+        /**
+         * Cancels the command if it has not started, or interrupts it if it is running and only reads.
+         */
+        void cancelIfSafe() {
+            if (commandRun.state.compareAndSet(CommandRun.QUEUED, CommandRun.CANCELLED)) {
+                cancel(false);
+            } else if (commandRun.isReadOnly) {
+                cancel(true);
+            }
+        }
+
+        @Override
+        protected void done() {
+            Platform.runLater(() -> handleCommandDone(this, submittedAt));
+        }
+    }
+
+    /**
+     * Runs a command unless it was cancelled first, deciding whether it reads only before it starts.
+     */
+    private class CommandRun implements Callable<MikeResponse> {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        private final String inputText;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        /** Written before the state becomes RUNNING, so a canceller that sees RUNNING sees it too. */
+        private volatile boolean isReadOnly;
+
+        CommandRun(String inputText) {
+            this.inputText = inputText;
+        }
+
+        @Override
+        public MikeResponse call() {
+            isReadOnly = mike.isReadOnly(inputText);
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                throw new CancellationException("Command cancelled.");
+            }
+            return mike.getResponse(inputText);
+        }
+    }
+
+    /**
+     * Shows a chat message as a dialog box. Cells are only created for the visible rows and reused while scrolling,
+     * and each cell reuses its dialog box for whichever message it shows.
+     */
+    private class DialogCell extends ListCell<ChatMessage> {
+        private final DialogBox dialogBox = new DialogBox();
+        private final Hyperlink showMoreLink = new Hyperlink("show more");
+
+        DialogCell() {
+            showMoreLink.setOnAction(event -> showMore(getItem()));
+        }
+
+        @Override
+        protected void updateItem(ChatMessage message, boolean isEmpty) {
+            super.updateItem(message, isEmpty);
+            setText(null);
+            if (isEmpty || message == null) {
+                setGraphic(null);
+                return;
+            }
+            if (message.getMorePages() != null) {
+                setGraphic(showMoreLink);
+                return;
+            }
+            Image image = message.isUser() ? userImage : mikeImage;
+            dialogBox.setMessage(message.getText(), image, message.isUser());
+            setGraphic(dialogBox);
+        }
     }
 }
 
@@ -0,0 +1,67 @@
+package mike;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * ChatHistory bounds how many chat messages are kept in memory and appends older messages to a transcript file.
+ * <p>
+ * Messages are spilled in batches of a quarter of the capacity, so the cost of trimming the in-memory history is
+ * constant per message however long the session runs.
+ * @author ningc
+ */
+public class ChatHistory {
+    private final String filePath;
+    private final int capacity;
+    private long spilledCount;
+
+    /**
+     * Constructor.
+     * @param filePath The relative path to the transcript file.
+     * @param capacity Maximum number of messages kept in memory.
+     */
+    public ChatHistory(String filePath, int capacity) {
+        assert capacity >= 4 : "capacity must allow spilling in batches";
+        this.filePath = filePath;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns how many of the oldest messages to spill once the in-memory history holds the given number.
+     * @param size Number of messages in memory.
+     * @return Number of messages to spill, 0 while the history is within capacity.
+     */
+    public int getSpillCount(int size) {
+        return size > capacity ? size - capacity + capacity / 4 : 0;
+    }
+
+    /**
+     * Appends the messages to the transcript file.
+     * @param messages The oldest messages in memory, oldest first.
+     */
+    public void spill(List<ChatMessage> messages) {
+        File file = new File(filePath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, true))) {
+            for (ChatMessage message : messages) {
+                out.println(message.getFileEncoding());
+            }
+        } catch (IOException e) {
+            Ui.display(e.getMessage());
+        }
+        spilledCount += messages.size();
+    }
+
+    /**
+     * Getter.
+     * @return Number of messages written to the transcript file this session.
+     */
+    public long getSpilledCount() {
+        return spilledCount;
+    }
+}
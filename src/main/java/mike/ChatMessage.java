@@ -0,0 +1,73 @@
+package mike;
+
+/**
+ * A message in the chat transcript, either typed by the user or replied by Mike.
+ * @author ningc
+ */
+public class ChatMessage {
+    private final boolean isUser;
+    private final String text;
+    private final PagedResponse morePages;
+
+    /**
+     * Constructor.
+     * @param isUser True if the user typed the message, false if Mike replied with it.
+     * @param text The message text.
+     */
+    public ChatMessage(boolean isUser, String text) {
+        this.isUser = isUser;
+        this.text = text;
+        this.morePages = null;
+    }
+
+    /**
+     * Constructor for a "show more" message that stands in for the rest of a long reply from Mike.
+     * @param text The message text.
+     * @param morePages The pages of the reply not yet shown.
+     */
+    public ChatMessage(String text, PagedResponse morePages) {
+        this.isUser = false;
+        this.text = text;
+        this.morePages = morePages;
+    }
+
+    /**
+     * Getter.
+     * @return True if the user typed the message, false if Mike replied with it.
+     */
+    public boolean isUser() {
+        return isUser;
+    }
+
+    /**
+     * Getter.
+     * @return The message text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Getter.
+     * @return The pages of the reply not yet shown, or null if this is not a "show more" message.
+     */
+    public PagedResponse getMorePages() {
+        return morePages;
+    }
+
+    /**
+     * Getter.
+     * @return The encoding of the message that is written to the transcript file, on a single line.
+     *     A "show more" message is written as the rest of the reply, so nothing is lost from the transcript.
+     */
+    public String getFileEncoding() {
+        String fileText = morePages == null ? text : morePages.getRemainingText();
+        String escapedText = fileText.replace("\\", "\\\\").replace("\n", "\\n");
+        return (isUser ? "user," : "mike,") + escapedText;
+    }
+
+    @Override
+    public String toString() {
+        return (isUser ? "USER " : "MIKE ") + text;
+    }
+}
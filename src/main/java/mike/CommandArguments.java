@@ -0,0 +1,84 @@
+package mike;
+
+import java.util.Arrays;
+
+/**
+ * The values parsed for the parameters of a {@link CommandSpec}, handed to its factory.
+ * One instance is reused by a {@link CommandParser}, so factories must copy out what they keep.
+ * @author ningc
+ */
+public class CommandArguments {
+    private CommandSpec spec;
+    private Object[] values;
+    private int[] numbers;
+    private boolean[] isSet;
+
+    /**
+     * Constructor.
+     */
+    CommandArguments() {
+        this.values = new Object[0];
+        this.numbers = new int[0];
+        this.isSet = new boolean[0];
+    }
+
+    void reset(CommandSpec spec) {
+        this.spec = spec;
+        int size = spec.getParameterCount();
+        if (values.length < size) {
+            values = new Object[size];
+            numbers = new int[size];
+            isSet = new boolean[size];
+        } else {
+            Arrays.fill(values, null);
+            Arrays.fill(isSet, false);
+        }
+    }
+
+    void setValue(int index, Object value) {
+        values[index] = value;
+        isSet[index] = true;
+    }
+
+    void setNumber(int index, int number) {
+        numbers[index] = number;
+        isSet[index] = true;
+    }
+
+    /**
+     * Checks if a value was given for the parameter.
+     * @param name The parameter name.
+     * @return True if the parameter was given, otherwise false.
+     */
+    public boolean has(String name) {
+        return isSet[spec.indexOf(name)];
+    }
+
+    /**
+     * Getter for a {@link ParameterType#TEXT} parameter.
+     */
+    public String getText(String name) {
+        return (String) values[spec.indexOf(name)];
+    }
+
+    /**
+     * Getter for a {@link ParameterType#NUMBER} parameter.
+     */
+    public int getNumber(String name) {
+        return numbers[spec.indexOf(name)];
+    }
+
+    /**
+     * Getter for a {@link ParameterType#VIEW_TYPE} parameter.
+     */
+    public ListViewType getViewType(String name) {
+        return (ListViewType) values[spec.indexOf(name)];
+    }
+
+    /**
+     * Getter for a {@link ParameterType#SWITCH} parameter. A switch that was not given is off.
+     */
+    public boolean getSwitch(String name) {
+        return Boolean.TRUE.equals(values[spec.indexOf(name)]);
+    }
+}
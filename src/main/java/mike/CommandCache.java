@@ -0,0 +1,131 @@
+package mike;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import mike.command.Command;
+
+/**
+ * CommandCache is a bounded least recently used cache from command input to its parsed {@link Command}.
+ * <p>
+ * Commands are immutable once parsed, so the same instance can be executed again whenever the same input repeats.
+ * Read only commands may also keep the response of their last execution, which stays valid until the
+ * {@link TaskList} modification count moves on. The cache can be shared between threads.
+ * @author ningc
+ */
+class CommandCache {
+    private static final int DEFAULT_CAPACITY = 128;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Constructor.
+     * @param capacity Maximum number of inputs kept.
+     */
+    CommandCache(int capacity) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Constructor for a cache with the default capacity.
+     */
+    CommandCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the cached entry for the input.
+     * @param userInput The raw command input.
+     * @return The cached entry, or null if the input has not been parsed recently.
+     */
+    synchronized Entry get(String userInput) {
+        return entries.get(normalize(userInput));
+    }
+
+    /**
+     * Caches the parsed command for the input.
+     * @param userInput The raw command input.
+     * @param command The command parsed from the input.
+     * @return The new cache entry.
+     */
+    synchronized Entry put(String userInput, Command command) {
+        Entry entry = new Entry(command);
+        entries.put(normalize(userInput), entry);
+        return entry;
+    }
+
+    /**
+     * Removes every cached entry, e.g. when the registered commands change.
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of inputs cached.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops trailing whitespace, which the scanner ignores, so "list" and "list " share an entry.
+     */
+    private static String normalize(String userInput) {
+        int end = userInput.length();
+        while (end > 0 && isIgnoredWhiteSpace(userInput.charAt(end - 1))) {
+            end--;
+        }
+        return end == userInput.length() ? userInput : userInput.substring(0, end);
+    }
+
+    private static boolean isIgnoredWhiteSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    /**
+     * A parsed command and, for read only commands, its last response.
+     */
+    static class Entry {
+        private final Command command;
+        private CharSequence response;
+        private long responseModificationCount;
+
+        private Entry(Command command) {
+            this.command = command;
+        }
+
+        /**
+         * Getter.
+         * @return The parsed command.
+         */
+        Command getCommand() {
+            return command;
+        }
+
+        /**
+         * Returns the cached response if the task list has not changed since it was computed.
+         * @param modificationCount The current {@link TaskList#getModificationCount()}.
+         * @return The cached response, or null if there is none or it is stale.
+         */
+        synchronized CharSequence getResponse(long modificationCount) {
+            return response != null && responseModificationCount == modificationCount ? response : null;
+        }
+
+        /**
+         * Caches the response of a read only command.
+         * @param response The response.
+         * @param modificationCount The {@link TaskList#getModificationCount()} the response was computed at.
+         */
+        synchronized void setResponse(CharSequence response, long modificationCount) {
+            assert command.isReadOnly() : "only read only responses can be reused";
+            this.response = response;
+            this.responseModificationCount = modificationCount;
+        }
+    }
+}
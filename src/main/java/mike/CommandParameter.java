@@ -0,0 +1,65 @@
+package mike;
+
+/**
+ * Declares one parameter in a {@link CommandSpec} grammar.
+ * @author ningc
+ */
+public class CommandParameter {
+    private final String name;
+    private final ParameterType type;
+    private final String placeholder;
+    private final String missingPrefix;
+
+    /**
+     * Constructor.
+     * @param name The parameter name, used after a forward dash for named parameters, e.g. "by".
+     * @param type The type of value the parameter takes.
+     * @param placeholder How the value is shown in the usage message, e.g. "[date]".
+     * @param missingPrefix Text shown before the usage message when the value is missing, or "" for none.
+     */
+    public CommandParameter(String name, ParameterType type, String placeholder, String missingPrefix) {
+        this.name = name;
+        this.type = type;
+        this.placeholder = placeholder;
+        this.missingPrefix = missingPrefix;
+    }
+
+    /**
+     * Constructor for a parameter with no extra text when its value is missing.
+     */
+    public CommandParameter(String name, ParameterType type, String placeholder) {
+        this(name, type, placeholder, "");
+    }
+
+    /**
+     * Getter.
+     * @return The parameter name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter.
+     * @return The type of value the parameter takes.
+     */
+    public ParameterType getType() {
+        return type;
+    }
+
+    /**
+     * Getter.
+     * @return How the value is shown in the usage message.
+     */
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Getter.
+     * @return Text shown before the usage message when the value is missing.
+     */
+    public String getMissingPrefix() {
+        return missingPrefix;
+    }
+}
@@ -2,23 +2,21 @@ package mike;
 
 import java.util.List;
 
-import mike.command.AddDeadlineCommand;
-import mike.command.AddEventCommand;
-import mike.command.AddTodoCommand;
-import mike.command.ArchiveCommand;
 import mike.command.Command;
-import mike.command.DeleteCommand;
-import mike.command.ExitCommand;
-import mike.command.FindCommand;
-import mike.command.ListCommand;
-import mike.command.MarkCommand;
-import mike.command.UnmarkCommand;
 /**
  * CommandParser is the class responsible for parsing the command input and generating {@link Command} objects,
+ * <p>
+ * The command word is dispatched through a {@link CommandRegistry} and the rest of the input is parsed against
+ * the {@link CommandSpec} grammar found there. The parser reads tokens straight out of a {@link CommandScanner}
+ * buffer and only copies the literals that end up in the returned {@link Command}, so one parser can be reused
+ * for every input scanned by the same scanner.
  * @author ningc
  */
 class CommandParser {
-    private final List<Token> tokens;
+    private final CommandScanner tokens;
+    private final CommandRegistry registry;
+    private final CommandArguments arguments;
+    private int[] parameterTokens;
     private int current;
 
     /**
@@ -26,205 +24,164 @@ class CommandParser {
      * @param tokens List of tokens generated by {@link CommandScanner}.
      */
     CommandParser(List<Token> tokens) {
-        this.tokens = tokens;
+        this(new CommandScanner());
+        this.tokens.load(tokens);
+    }
+
+    /**
+     * Constructor for a reusable parser over the scanner's token buffer.
+     * @param scanner The scanner whose most recently scanned tokens are parsed.
+     */
+    CommandParser(CommandScanner scanner) {
+        this.tokens = scanner;
+        this.registry = scanner.getRegistry();
+        this.arguments = new CommandArguments();
+        this.parameterTokens = new int[0];
         this.current = 0;
     }
 
+    /**
+     * Getter.
+     * @return The scanner whose token buffer this parser reads.
+     */
+    CommandScanner getScanner() {
+        return tokens;
+    }
+
     /**
      * Parses the token list to generate a Command object which is returned.
      * @return Command that can be executed.
      * @throws MikeException If there is no command input or the command is not recognized.
      */
     public Command parse() throws MikeException {
-        Token commandToken = advance();
-        TokenType commandTokenType = commandToken.getType();
-
-        switch (commandTokenType) {
-        case EXIT:
-            return parseExit();
-        case LIST:
-            return parseList();
-        case MARK:
-            return parseMark();
-        case UNMARK:
-            return parseUnmark();
-        case TODO:
-            return parseTodo();
-        case DEADLINE:
-            return parseDeadline();
-        case EVENT:
-            return parseEvent();
-        case DELETE:
-            return parseDelete();
-        case FIND:
-            return parseFind();
-        case ARCHIVE:
-            return parseArchive();
-        case EOC:
+        current = 0;
+        int commandToken = advance();
+        TokenType commandTokenType = tokens.type(commandToken);
+
+        if (commandTokenType == TokenType.EOC) {
             throw createError("Say something.");
-        default:
+        }
+
+        CommandSpec spec = commandTokenType == TokenType.COMMAND
+                ? tokens.lookupCommand(commandToken)
+                : registry.lookup(commandTokenType);
+        if (spec == null) {
             String errorMessage = createInvalidCommandErrorMessage(commandToken);
             throw createError(errorMessage);
         }
-    }
 
-    private Command parseExit() throws MikeException {
-        consume(TokenType.EOC, "Usage: bye");
-        return new ExitCommand();
+        parseParameters(spec);
+        return spec.create(arguments);
     }
 
-    private Command parseList() throws MikeException {
-        String basicListUsage = "Usage: list";
-        String fullListUsage = "Usage: list /view [type] /attribute [attribute]";
-
-        if (!getParameterSeen()) {
-            consume(TokenType.EOC, basicListUsage);
-            return new ListCommand(new ListView(ListViewType.NONE));
+    private void parseParameters(CommandSpec spec) throws MikeException {
+        int parameterCount = spec.getParameterCount();
+        if (parameterTokens.length < parameterCount) {
+            parameterTokens = new int[parameterCount];
         }
+        arguments.reset(spec);
 
-        if (!getHasParameterName("view")) {
-            throw createError(fullListUsage);
+        if (spec.hasArgument()) {
+            parameterTokens[0] = consumeValue(spec.getParameter(0), spec.getMissingMessage(0));
         }
 
-        ListViewType listViewType = getListViewType(fullListUsage);
-        consumeParameter("attribute", fullListUsage);
-        String attribute = getLiteral(fullListUsage);
-        consume(TokenType.EOC, fullListUsage);
-
-        ListView listView = new ListView(listViewType, attribute);
-        return new ListCommand(listView);
-    }
-
-    private ListViewType getListViewType(String commandUsage) throws MikeException {
-        String type = getLiteral(commandUsage);
-
-        switch (type) {
-        case "date":
-            return ListViewType.DATE;
-        case "description":
-            return ListViewType.DESCRIPTION;
-        default:
-            throw createError("Invalid type");
+        int firstNamedIndex = spec.getFirstNamedIndex();
+        boolean isParameterSeen = false;
+        if (spec.isOptional() && firstNamedIndex < parameterCount) {
+            isParameterSeen = getParameterSeen();
+            if (!isParameterSeen) {
+                consume(TokenType.EOC, spec.getBasicUsage());
+                convertArguments(spec, firstNamedIndex);
+                return;
+            }
         }
-    }
-
-    private Command parseMark() throws MikeException {
-        String usage = "Usage: mark [number]";
 
-        String argument = getLiteral(usage);
-        consume(TokenType.EOC, usage);
-        try {
-            int taskNumber = Integer.parseInt(argument);
-            return new MarkCommand(taskNumber);
-        } catch (NumberFormatException e) {
-            String errorMessage = createInvalidNumberErrorMessage(argument);
-            throw createError(errorMessage);
+        String usage = spec.getFullUsage();
+        for (int i = firstNamedIndex; i < parameterCount; i++) {
+            String parameterName = spec.getParameter(i).getName();
+            if (i == firstNamedIndex && isParameterSeen) {
+                if (!getHasParameterName(parameterName)) {
+                    throw createError(usage);
+                }
+            } else {
+                consumeParameter(parameterName, usage);
+            }
+            parameterTokens[i] = consumeValue(spec.getParameter(i), spec.getMissingMessage(i));
         }
-    }
-
-    private Command parseUnmark() throws MikeException {
-        String usage = "Usage: unmark [number]";
-
-        String argument = getLiteral(usage);
         consume(TokenType.EOC, usage);
-        try {
-            int taskNumber = Integer.parseInt(argument);
-            return new UnmarkCommand(taskNumber);
-        } catch (NumberFormatException e) {
-            String errorMessage = createInvalidNumberErrorMessage(argument);
-            throw createError(errorMessage);
+        convertArguments(spec, parameterCount);
+    }
+
+    private void convertArguments(CommandSpec spec, int parsedCount) throws MikeException {
+        for (int i = 0; i < parsedCount; i++) {
+            int token = parameterTokens[i];
+            switch (spec.getParameter(i).getType()) {
+            case TEXT:
+                arguments.setValue(i, tokens.text(token));
+                break;
+            case NUMBER:
+                arguments.setNumber(i, getNumber(token));
+                break;
+            case VIEW_TYPE:
+                arguments.setValue(i, getListViewType(token));
+                break;
+            case SWITCH:
+                arguments.setValue(i, getSwitch(token, spec.getFullUsage()));
+                break;
+            case REST:
+                arguments.setValue(i, tokens.textFrom(token));
+                break;
+            default:
+                throw createError(spec.getFullUsage());
+            }
         }
     }
 
-    private Command parseTodo() throws MikeException {
-        String usage = "Usage: todo [description]";
-
-        String description = getLiteral("Description missing.\n" + usage);
-        consume(TokenType.EOC, usage);
-        return new AddTodoCommand(description);
+    private int consumeValue(CommandParameter parameter, String missingMessage) throws MikeException {
+        if (parameter.getType() != ParameterType.REST) {
+            return consume(TokenType.LITERAL, missingMessage);
+        }
+        if (isAtEnd()) {
+            throw createError(missingMessage);
+        }
+        int restToken = current;
+        current = tokens.size() - 1;
+        return restToken;
     }
 
-    private Command parseDeadline() throws MikeException {
-        String usage = "Usage: deadline [description] /by [date]";
-
-        String description = getLiteral("Description missing.\n" + usage);
-        consumeParameter("by", usage);
-        String deadline = getLiteral(usage);
-        consume(TokenType.EOC, usage);
-        return new AddDeadlineCommand(description, deadline);
+    private ListViewType getListViewType(int token) throws MikeException {
+        if (tokens.textEquals(token, "date")) {
+            return ListViewType.DATE;
+        } else if (tokens.textEquals(token, "description")) {
+            return ListViewType.DESCRIPTION;
+        } else {
+            throw createError("Invalid type");
+        }
     }
 
-    private Command parseEvent() throws MikeException {
-        String usage = "Usage: event [description] /from [date] /to [date]";
-
-        String description = getLiteral("Description missing.\n" + usage);
-
-        consumeParameter("from", usage);
-
-        String startDate = getLiteral("Start date missing.\n" + usage);
-
-        consumeParameter("to", usage);
-
-        String endDate = getLiteral("End date missing.\n" + usage);
-        consume(TokenType.EOC, usage);
-        return new AddEventCommand(description, startDate, endDate);
+    private Boolean getSwitch(int token, String commandUsage) throws MikeException {
+        if (tokens.textEquals(token, "on")) {
+            return Boolean.TRUE;
+        } else if (tokens.textEquals(token, "off")) {
+            return Boolean.FALSE;
+        } else {
+            throw createError(commandUsage);
+        }
     }
 
-    private Command parseDelete() throws MikeException {
-        String usage = "Usage: delete [number]";
-        String argument = getLiteral(usage);
-        consume(TokenType.EOC, usage);
-
+    private int getNumber(int token) throws MikeException {
         try {
-            int taskNumber = Integer.parseInt(argument);
-            return new DeleteCommand(taskNumber);
+            return tokens.parseInt(token);
         } catch (NumberFormatException e) {
-            String errorMessage = createInvalidNumberErrorMessage(argument);
+            String errorMessage = createInvalidNumberErrorMessage(tokens.text(token));
             throw createError(errorMessage);
         }
     }
 
-    private Command parseFind() throws MikeException {
-        String basicFindUsage = "Usage: find [keyword]";
-        String fullFindUsage = "Usage: find [keyword] /fuzzy [on/off]";
-
-        String keyword = getLiteral(basicFindUsage);
-
-        if (!getParameterSeen()) {
-            consume(TokenType.EOC, basicFindUsage);
-            return new FindCommand(keyword, false);
-        }
-
-        if (!getHasParameterName("fuzzy")) {
-            throw createError(fullFindUsage);
-        }
-
-        String argument = getLiteral(fullFindUsage);
-        consume(TokenType.EOC, fullFindUsage);
-
-        switch (argument) {
-        case "on":
-            return new FindCommand(keyword, true);
-        case "off":
-            return new FindCommand(keyword, false);
-        default:
-            throw createError(fullFindUsage);
-        }
-    }
-
-    private Command parseArchive() throws MikeException {
-        String usage = "Usage: archive [filename]";
-        String archiveFileName = getLiteral(usage);
-        consume(TokenType.EOC, usage);
-        return new ArchiveCommand(archiveFileName);
-    }
-
-    private boolean match(TokenType...types) {
-        for (TokenType type : types) {
-            if (check(type)) {
-                advance();
-                return true;
-            }
+    private boolean match(TokenType type) {
+        if (check(type)) {
+            advance();
+            return true;
         }
 
         return false;
@@ -234,8 +191,8 @@ class CommandParser {
         return new MikeException(message);
     }
 
-    private String createInvalidCommandErrorMessage(Token invalidCommandToken) {
-        return "'" + invalidCommandToken.getText() + "' is not recognized as a command.\n"
+    private String createInvalidCommandErrorMessage(int invalidCommandToken) {
+        return "'" + tokens.text(invalidCommandToken) + "' is not recognized as a command.\n"
                 + "That is the weirdest thing you've ever said.";
     }
 
@@ -244,7 +201,7 @@ class CommandParser {
                 + argument + "' is not an integer Sulley...";
     }
 
-    private Token consume(TokenType type, String message) throws MikeException {
+    private int consume(TokenType type, String message) throws MikeException {
         if (check(type)) {
             return advance();
         }
@@ -252,26 +209,26 @@ class CommandParser {
     }
 
     private boolean check(TokenType type) {
-        return peekToken().getType() == type;
+        return tokens.type(peekToken()) == type;
     }
 
-    private Token advance() {
+    private int advance() {
         if (!isAtEnd()) {
             current++;
         }
         return previousToken();
     }
 
-    private Token previousToken() {
-        return tokens.get(current - 1);
+    private int previousToken() {
+        return current - 1;
     }
 
     private boolean isAtEnd() {
-        return peekToken().getType() == TokenType.EOC;
+        return tokens.type(peekToken()) == TokenType.EOC;
     }
 
-    private Token peekToken() {
-        return tokens.get(current);
+    private int peekToken() {
+        return current;
     }
 
     private void consumeParameter(String parameterName, String commandUsage) throws MikeException {
@@ -282,14 +239,8 @@ class CommandParser {
         }
     }
 
-    private String getLiteral(String commandUsage) throws MikeException {
-        consume(TokenType.LITERAL, commandUsage);
-        return previousToken().getText().strip();
-    }
-
     private boolean getHasParameterName(String parameterName) {
-        Token paramToken = previousToken();
-        return paramToken.getText().equals(parameterName);
+        return tokens.textEquals(previousToken(), parameterName);
     }
 
     private boolean getParameterSeen() {
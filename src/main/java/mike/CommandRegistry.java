@@ -0,0 +1,249 @@
+package mike;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mike.command.AddDeadlineCommand;
+import mike.command.AddEventCommand;
+import mike.command.AddRecurringCommand;
+import mike.command.AddTodoCommand;
+import mike.command.ArchiveCommand;
+import mike.command.Command;
+import mike.command.DeleteCommand;
+import mike.command.DeleteViewCommand;
+import mike.command.ExitCommand;
+import mike.command.ExplainCommand;
+import mike.command.FindCommand;
+import mike.command.ListCommand;
+import mike.command.ListViewsCommand;
+import mike.command.MarkCommand;
+import mike.command.RedoCommand;
+import mike.command.SaveViewCommand;
+import mike.command.ShowViewCommand;
+import mike.command.UndoCommand;
+import mike.command.UnmarkCommand;
+
+/**
+ * CommandRegistry holds the {@link CommandSpec} of every command the {@link CommandParser} understands.
+ * <p>
+ * Whenever a command is registered the command words are compiled into a collision free hash table, so looking up
+ * the command word of an input costs one hash over the word and one comparison however many commands exist.
+ * @author ningc
+ */
+public class CommandRegistry {
+    private static final int MAX_SEED = 1 << 16;
+    private static final String VIEW_USAGE = "Usage: view [save/show/delete/list] [name] [query]";
+    private static final String SAVE_VIEW_USAGE = "Usage: view save [name] [list/find query]";
+    private static final String EXPLAIN_USAGE = "Usage: explain [list/find query]";
+    private static final CommandRegistry BUILT_IN = new CommandRegistry();
+
+    private final List<CommandSpec> specs;
+    private final CommandSpec[] specsByTokenType;
+    private CommandSpec[] table;
+    private int seed;
+
+    /**
+     * Constructor for a registry with the built in commands.
+     */
+    public CommandRegistry() {
+        this.specs = new ArrayList<CommandSpec>();
+        this.specsByTokenType = new CommandSpec[TokenType.values().length];
+        this.table = new CommandSpec[1];
+        registerBuiltInCommands();
+    }
+
+    /**
+     * Returns the shared registry of built in commands.
+     */
+    static CommandRegistry getBuiltIn() {
+        return BUILT_IN;
+    }
+
+    /**
+     * Registers a command, replacing any command with the same word, and recompiles the dispatch table.
+     * @param spec The command grammar.
+     */
+    public void register(CommandSpec spec) {
+        spec.compile();
+        specs.removeIf(existing -> existing.getWord().equals(spec.getWord()));
+        specs.add(spec);
+        if (spec.getTokenType() != TokenType.COMMAND) {
+            specsByTokenType[spec.getTokenType().ordinal()] = spec;
+        }
+        compile();
+    }
+
+    /**
+     * Looks up the command whose word is the given range of the text.
+     * @return The command spec, or null if no command has that word.
+     */
+    CommandSpec lookup(CharSequence text, int start, int end) {
+        CommandSpec spec = table[hash(text, start, end, seed, table.length)];
+        if (spec == null || !CommandScanner.regionEquals(text, start, end, spec.getWord())) {
+            return null;
+        }
+        return spec;
+    }
+
+    /**
+     * Looks up the built in command with the given token type.
+     * @return The command spec, or null if the token type is not a built in command.
+     */
+    CommandSpec lookup(TokenType tokenType) {
+        return specsByTokenType[tokenType.ordinal()];
+    }
+
+    private void compile() {
+        // power of two at least twice the number of commands keeps a collision free seed easy to find
+        int size = Integer.highestOneBit(Math.max(1, specs.size() * 2 - 1)) << 1;
+        while (true) {
+            for (int candidate = 1; candidate < MAX_SEED; candidate++) {
+                CommandSpec[] candidateTable = tryCompile(candidate, size);
+                if (candidateTable != null) {
+                    table = candidateTable;
+                    seed = candidate;
+                    return;
+                }
+            }
+            size <<= 1;
+        }
+    }
+
+    private CommandSpec[] tryCompile(int candidate, int size) {
+        CommandSpec[] candidateTable = new CommandSpec[size];
+        for (CommandSpec spec : specs) {
+            String word = spec.getWord();
+            int slot = hash(word, 0, word.length(), candidate, size);
+            if (candidateTable[slot] != null) {
+                return null;
+            }
+            candidateTable[slot] = spec;
+        }
+        return candidateTable;
+    }
+
+    private static int hash(CharSequence text, int start, int end, int seed, int size) {
+        int h = end - start;
+        for (int i = start; i < end; i++) {
+            h = h * seed + text.charAt(i);
+        }
+        h ^= h >>> 16;
+        return h & (size - 1);
+    }
+
+    private void registerBuiltInCommands() {
+        CommandParameter number = new CommandParameter("number", ParameterType.NUMBER, "[number]");
+        CommandParameter description =
+                new CommandParameter("description", ParameterType.TEXT, "[description]", "Description missing.");
+        CommandParameter occurrenceDate = new CommandParameter("on", ParameterType.TEXT, "[date]");
+
+        register(new CommandSpec("bye", TokenType.EXIT, arguments -> new ExitCommand()));
+        register(new CommandSpec("list", TokenType.LIST, arguments -> arguments.has("view")
+                ? new ListCommand(new ListView(arguments.getViewType("view"), arguments.getText("attribute")))
+                : new ListCommand(new ListView(ListViewType.NONE)))
+                .withParameter(new CommandParameter("view", ParameterType.VIEW_TYPE, "[type]"))
+                .withParameter(new CommandParameter("attribute", ParameterType.TEXT, "[attribute]"))
+                .withOptionalParameters());
+        register(new CommandSpec("mark", TokenType.MARK,
+                arguments -> new MarkCommand(arguments.getNumber("number"), getOptionalText(arguments, "on")))
+                .withArgument(number)
+                .withParameter(occurrenceDate)
+                .withOptionalParameters());
+        register(new CommandSpec("unmark", TokenType.UNMARK,
+                arguments -> new UnmarkCommand(arguments.getNumber("number"), getOptionalText(arguments, "on")))
+                .withArgument(number)
+                .withParameter(occurrenceDate)
+                .withOptionalParameters());
+        register(new CommandSpec("todo", TokenType.TODO,
+                arguments -> new AddTodoCommand(arguments.getText("description")))
+                .withArgument(description));
+        register(new CommandSpec("deadline", TokenType.DEADLINE,
+                arguments -> new AddDeadlineCommand(arguments.getText("description"), arguments.getText("by")))
+                .withArgument(description)
+                .withParameter(new CommandParameter("by", ParameterType.TEXT, "[date]")));
+        register(new CommandSpec("event", TokenType.EVENT, arguments -> new AddEventCommand(
+                arguments.getText("description"), arguments.getText("from"), arguments.getText("to")))
+                .withArgument(description)
+                .withParameter(new CommandParameter("from", ParameterType.TEXT, "[date]", "Start date missing."))
+                .withParameter(new CommandParameter("to", ParameterType.TEXT, "[date]", "End date missing.")));
+        register(new CommandSpec("recur", arguments -> new AddRecurringCommand(
+                arguments.getText("description"), arguments.getText("from"), arguments.getText("every"),
+                arguments.getText("until")))
+                .withArgument(description)
+                .withParameter(new CommandParameter("from", ParameterType.TEXT, "[date]", "Start date missing."))
+                .withParameter(new CommandParameter("every", ParameterType.TEXT, "[interval]", "Interval missing."))
+                .withParameter(new CommandParameter("until", ParameterType.TEXT, "[date]", "End date missing.")));
+        register(new CommandSpec("delete", TokenType.DELETE,
+                arguments -> new DeleteCommand(arguments.getNumber("number")))
+                .withArgument(number));
+        register(new CommandSpec("find", TokenType.FIND,
+                arguments -> new FindCommand(arguments.getText("keyword"), arguments.getSwitch("fuzzy")))
+                .withArgument(new CommandParameter("keyword", ParameterType.TEXT, "[keyword]"))
+                .withParameter(new CommandParameter("fuzzy", ParameterType.SWITCH, "[on/off]"))
+                .withOptionalParameters());
+        register(new CommandSpec("archive", TokenType.ARCHIVE,
+                arguments -> new ArchiveCommand(arguments.getText("filename")))
+                .withArgument(new CommandParameter("filename", ParameterType.TEXT, "[filename]")));
+        register(new CommandSpec("view", arguments -> createViewCommand(arguments.getText("arguments")))
+                .withArgument(new CommandParameter("arguments", ParameterType.REST,
+                        "[save/show/delete/list] [name] [query]")));
+        register(new CommandSpec("undo", arguments -> new UndoCommand()));
+        register(new CommandSpec("redo", arguments -> new RedoCommand()));
+        register(new CommandSpec("explain", arguments -> createExplainCommand(arguments.getText("query")))
+                .withArgument(new CommandParameter("query", ParameterType.REST, "[list/find query]")));
+    }
+
+    private static String getOptionalText(CommandArguments arguments, String name) {
+        return arguments.has(name) ? arguments.getText(name) : null;
+    }
+
+    private Command createViewCommand(String arguments) throws MikeException {
+        String[] words = arguments.split("\\s+", 3);
+        String action = words[0];
+        boolean hasName = words.length >= 2;
+
+        switch (action) {
+        case "save":
+            if (words.length < 3) {
+                throw new MikeException(SAVE_VIEW_USAGE);
+            }
+            return createSaveViewCommand(words[1], words[2]);
+        case "show":
+            if (!hasName) {
+                throw new MikeException("Usage: view show [name]");
+            }
+            return new ShowViewCommand(words[1]);
+        case "delete":
+            if (!hasName) {
+                throw new MikeException("Usage: view delete [name]");
+            }
+            return new DeleteViewCommand(words[1]);
+        case "list":
+            return new ListViewsCommand();
+        default:
+            throw new MikeException(VIEW_USAGE);
+        }
+    }
+
+    private Command createSaveViewCommand(String name, String query) throws MikeException {
+        ListView listView = parseListQuery(query, "Only list and find queries can be saved as views.\n"
+                + SAVE_VIEW_USAGE);
+        return new SaveViewCommand(name, query, listView);
+    }
+
+    private Command createExplainCommand(String query) throws MikeException {
+        ListView listView = parseListQuery(query, "Only list and find queries can be explained.\n" + EXPLAIN_USAGE);
+        return new ExplainCommand(query, listView);
+    }
+
+    private ListView parseListQuery(String query, String errorMessage) throws MikeException {
+        // the query is parsed on its own so it does not disturb the token buffer of the caller
+        CommandScanner queryScanner = new CommandScanner(this);
+        queryScanner.scan(query);
+        Command queryCommand = new CommandParser(queryScanner).parse();
+        if (!(queryCommand instanceof ListCommand)) {
+            throw new MikeException(errorMessage);
+        }
+        return ((ListCommand) queryCommand).getListView();
+    }
+}
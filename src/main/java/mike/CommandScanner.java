@@ -1,48 +1,55 @@
 package mike;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * CommandScanner is the class responsible or scanning the command input
+ * <p>
+ * Tokens are recorded as a type plus a [start, end) range over the source {@link CharSequence}, kept in
+ * arrays that are reused across calls to {@link #scan(CharSequence)}. No {@link Token} or substring is created
+ * unless a caller asks for one, so a single scanner can serve every line of a script or GUI session.
  * @author ningc
  */
 class CommandScanner {
-    /**
-     * Look up table for commands.
-     */
-    private static final Map<String, TokenType> commands;
-
-    static {
-        commands = new HashMap<String, TokenType>(0);
-        commands.put("bye", TokenType.EXIT);
-        commands.put("list", TokenType.LIST);
-        commands.put("mark", TokenType.MARK);
-        commands.put("unmark", TokenType.UNMARK);
-        commands.put("todo", TokenType.TODO);
-        commands.put("deadline", TokenType.DEADLINE);
-        commands.put("event", TokenType.EVENT);
-        commands.put("delete", TokenType.DELETE);
-        commands.put("find", TokenType.FIND);
-        commands.put("archive", TokenType.ARCHIVE);
-    }
-
-    private final String source;
-    private final List<Token> tokens;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final CommandRegistry registry;
+    private CharSequence source;
+    private TokenType[] types;
+    private int[] starts;
+    private int[] ends;
+    private int count;
     private int start;
     private int current;
 
+    /**
+     * Constructor for a reusable scanner. Call {@link #scan(CharSequence)} for each command input.
+     * @param registry The commands to recognise.
+     */
+    CommandScanner(CommandRegistry registry) {
+        this.registry = registry;
+        this.source = "";
+        this.types = new TokenType[INITIAL_CAPACITY];
+        this.starts = new int[INITIAL_CAPACITY];
+        this.ends = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructor for a reusable scanner that recognises the built in commands.
+     */
+    CommandScanner() {
+        this(CommandRegistry.getBuiltIn());
+    }
+
     /**
      * Constructor.
      * @param source The raw command input.
      */
     CommandScanner(String source) {
+        this();
         this.source = source;
-        this.tokens = new ArrayList<Token>();
-        this.start = 0;
-        this.current = 0;
     }
 
     /**
@@ -50,83 +57,208 @@ class CommandScanner {
      * @return A list of tokens characterizing the command input.
      */
     public List<Token> scanTokens() {
+        scan(source);
+        List<Token> tokens = new ArrayList<Token>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(new Token(types[i], text(i)));
+        }
+        return tokens;
+    }
+
+    /**
+     * Scans the command input into the scanner's token buffer, replacing the previous contents.
+     * @param input The raw command input.
+     * @return The number of tokens scanned, including the EOC token.
+     */
+    int scan(CharSequence input) {
+        source = input;
+        count = 0;
+        start = 0;
+        current = 0;
+
         // command token
-        tokens.add(scanStartToken());
+        scanStartToken();
 
         // argument tokens
         while (!isAtEnd()) {
             start = current;
-            tokens.addAll(getNextTokens());
+            scanNextTokens();
         }
 
         // EOC token
-        tokens.add(scanEndToken());
-        return tokens;
+        addToken(TokenType.EOC, current, current);
+        return count;
+    }
+
+    /**
+     * Loads an already tokenized command into the buffer, e.g. tokens built by hand in tests.
+     * @param tokens The tokens to load, in order.
+     */
+    void load(List<Token> tokens) {
+        StringBuilder builder = new StringBuilder();
+        count = 0;
+        for (Token token : tokens) {
+            int tokenStart = builder.length();
+            builder.append(token.getText());
+            addToken(token.getType(), tokenStart, builder.length());
+            builder.append(' ');
+        }
+        source = builder;
+    }
+
+    /**
+     * Returns the number of tokens in the buffer.
+     */
+    int size() {
+        return count;
     }
 
-    private Token scanEndToken() {
-        return new Token(TokenType.EOC, "");
+    /**
+     * Returns the commands this scanner recognises.
+     */
+    CommandRegistry getRegistry() {
+        return registry;
     }
 
-    private ArrayList<Token> getNextTokens() {
+    /**
+     * Returns the type of the token at the index.
+     */
+    TokenType type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the source text of the token at the index as a new String.
+     * Only call this for text that is kept, as it allocates.
+     */
+    String text(int index) {
+        return source.subSequence(starts[index], ends[index]).toString();
+    }
+
+    /**
+     * Returns the source text from the start of the token at the index to the end of the last token before EOC.
+     */
+    String textFrom(int index) {
+        return source.subSequence(starts[index], Math.max(starts[index], ends[count - 2])).toString();
+    }
+
+    /**
+     * Checks the text of the token at the index against the expected text without copying it.
+     * @param index Index of the token.
+     * @param expected The expected text.
+     * @return True if the token text equals the expected text, otherwise false.
+     */
+    boolean textEquals(int index, String expected) {
+        return regionEquals(source, starts[index], ends[index], expected);
+    }
+
+    /**
+     * Looks up the command whose word is the text of the token at the index.
+     * @return The command spec, or null if no command has that word.
+     */
+    CommandSpec lookupCommand(int index) {
+        return registry.lookup(source, starts[index], ends[index]);
+    }
+
+    /**
+     * Parses the text of the token at the index as a base 10 integer without copying it.
+     * @throws NumberFormatException If the token text is not an integer.
+     */
+    int parseInt(int index) {
+        return Integer.parseInt(source, starts[index], ends[index], 10);
+    }
+
+    private void scanNextTokens() {
         char c = advance();
-        ArrayList<Token> nextTokens = new ArrayList<Token>();
         switch (c) {
         case '/':
-            nextTokens.add(scanPrefix());
-            nextTokens.add(scanParameter());
-            return nextTokens;
+            scanPrefix();
+            scanParameter();
+            break;
         case ' ':
         case '\r':
         case '\t':
             // ignore whitespace
             break;
         default:
-            nextTokens.add(scanLiteral());
-            return nextTokens;
+            scanLiteral();
+            break;
         }
-        return nextTokens;
     }
 
-    private Token scanLiteral() {
+    private void scanLiteral() {
         while (peekToken() != '/' && !isAtEnd()) {
             advance();
         }
-        return createToken(TokenType.LITERAL);
+        createToken(TokenType.LITERAL);
     }
 
-    private Token scanParameter() {
+    private void scanParameter() {
         start = current;
 
         while (!isWhiteSpace(peekToken()) && !isAtEnd()) {
             advance();
         }
 
-        return createToken(TokenType.PARAM);
+        createToken(TokenType.PARAM);
     }
 
-    private Token scanPrefix() {
-        return createToken(TokenType.FORWARD_DASH);
+    private void scanPrefix() {
+        createToken(TokenType.FORWARD_DASH);
     }
 
-    private Token scanStartToken() {
+    private void scanStartToken() {
         while (!isWhiteSpace(peekToken()) && !isAtEnd()) {
             advance();
         }
 
-        String text = source.substring(start, current);
-        TokenType type = commands.get(text);
+        CommandSpec spec = registry.lookup(source, start, current);
+        TokenType type = spec == null
+                ? TokenType.LITERAL // flag that LITERAL is not recognised command when parsing
+                : spec.getTokenType();
+
+        createToken(type);
+    }
 
-        if (type == null) {
-            type = TokenType.LITERAL; // flag that LITERAL is not recognised command when parsing
+    private void createToken(TokenType type) {
+        // strip surrounding whitespace without copying the text
+        int tokenStart = start;
+        int tokenEnd = current;
+        while (tokenStart < tokenEnd && Character.isWhitespace(source.charAt(tokenStart))) {
+            tokenStart++;
+        }
+        while (tokenEnd > tokenStart && Character.isWhitespace(source.charAt(tokenEnd - 1))) {
+            tokenEnd--;
         }
+        addToken(type, tokenStart, tokenEnd);
+    }
 
-        return createToken(type);
+    private void addToken(TokenType type, int tokenStart, int tokenEnd) {
+        if (count == types.length) {
+            int capacity = count * 2;
+            types = Arrays.copyOf(types, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        types[count] = type;
+        starts[count] = tokenStart;
+        ends[count] = tokenEnd;
+        count++;
     }
 
-    private Token createToken(TokenType type) {
-        String text = source.substring(start, current).strip();
-        return new Token(type, text);
+    /**
+     * Compares a range of the text with the expected text without copying it.
+     */
+    static boolean regionEquals(CharSequence text, int regionStart, int regionEnd, String expected) {
+        if (regionEnd - regionStart != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(regionStart + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private char peekToken() {
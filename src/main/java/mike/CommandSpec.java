@@ -0,0 +1,176 @@
+package mike;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mike.command.Command;
+
+/**
+ * Declares the grammar of a command: its word, an optional unnamed argument and its named parameters.
+ * <p>
+ * A command is written as {@code word [argument] /name [value] /name [value]...}, with named parameters in the
+ * declared order. If the named parameters are optional they must be given all together or not at all.
+ * Usage and error messages are built once when the spec is registered with a {@link CommandRegistry}.
+ * @author ningc
+ */
+public class CommandSpec {
+    private final String word;
+    private final TokenType tokenType;
+    private final CommandFactory factory;
+    private final List<CommandParameter> parameters;
+    private boolean hasArgument;
+    private boolean isOptional;
+
+    private String basicUsage;
+    private String fullUsage;
+    private String[] missingMessages;
+
+    /**
+     * Builds the {@link Command} from the parsed arguments.
+     */
+    @FunctionalInterface
+    public interface CommandFactory {
+        /**
+         * Creates the command.
+         * @param arguments The parsed values of the command parameters.
+         * @return Command that can be executed.
+         * @throws MikeException If the values cannot be used to create the command.
+         */
+        Command create(CommandArguments arguments) throws MikeException;
+    }
+
+    /**
+     * Constructor for a command dispatched by its word alone, e.g. a newer built in command or one registered at
+     * runtime by a plugin. Adding such a command needs no {@link TokenType}.
+     * @param word The word that starts the command.
+     * @param factory Builds the command from its parsed arguments.
+     */
+    public CommandSpec(String word, CommandFactory factory) {
+        this(word, TokenType.COMMAND, factory);
+    }
+
+    /**
+     * Constructor for one of the original built in commands, which keep their own {@link TokenType}.
+     */
+    CommandSpec(String word, TokenType tokenType, CommandFactory factory) {
+        this.word = word;
+        this.tokenType = tokenType;
+        this.factory = factory;
+        this.parameters = new ArrayList<CommandParameter>();
+    }
+
+    /**
+     * Declares the unnamed argument that directly follows the command word.
+     * @param argument The argument.
+     * @return This spec.
+     */
+    public CommandSpec withArgument(CommandParameter argument) {
+        assert !hasArgument && parameters.isEmpty() : "argument must be declared first and only once";
+        parameters.add(argument);
+        hasArgument = true;
+        return this;
+    }
+
+    /**
+     * Declares the next named parameter.
+     * @param parameter The parameter.
+     * @return This spec.
+     */
+    public CommandSpec withParameter(CommandParameter parameter) {
+        parameters.add(parameter);
+        return this;
+    }
+
+    /**
+     * Makes the named parameters optional as a group.
+     * @return This spec.
+     */
+    public CommandSpec withOptionalParameters() {
+        isOptional = true;
+        return this;
+    }
+
+    /**
+     * Builds the usage and error messages.
+     */
+    void compile() {
+        StringBuilder usage = new StringBuilder("Usage: ").append(word);
+        if (hasArgument) {
+            usage.append(' ').append(parameters.get(0).getPlaceholder());
+        }
+        String argumentUsage = usage.toString();
+        for (int i = getFirstNamedIndex(); i < parameters.size(); i++) {
+            CommandParameter parameter = parameters.get(i);
+            usage.append(" /").append(parameter.getName()).append(' ').append(parameter.getPlaceholder());
+        }
+        fullUsage = usage.toString().intern();
+        basicUsage = isOptional ? argumentUsage.intern() : fullUsage;
+
+        missingMessages = new String[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            String prefix = parameters.get(i).getMissingPrefix();
+            String commandUsage = hasArgument && i == 0 ? basicUsage : fullUsage;
+            missingMessages[i] = prefix.isEmpty() ? commandUsage : (prefix + "\n" + commandUsage).intern();
+        }
+    }
+
+    /**
+     * Getter.
+     * @return The word that starts the command.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    TokenType getTokenType() {
+        return tokenType;
+    }
+
+    Command create(CommandArguments arguments) throws MikeException {
+        return factory.create(arguments);
+    }
+
+    boolean hasArgument() {
+        return hasArgument;
+    }
+
+    boolean isOptional() {
+        return isOptional;
+    }
+
+    int getParameterCount() {
+        return parameters.size();
+    }
+
+    int getFirstNamedIndex() {
+        return hasArgument ? 1 : 0;
+    }
+
+    CommandParameter getParameter(int index) {
+        return parameters.get(index);
+    }
+
+    int indexOf(String name) {
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("'" + name + "' is not a parameter of " + word);
+    }
+
+    /**
+     * Returns the usage without the optional parameters, or the full usage if nothing is optional.
+     */
+    String getBasicUsage() {
+        return basicUsage;
+    }
+
+    String getFullUsage() {
+        return fullUsage;
+    }
+
+    String getMissingMessage(int index) {
+        return missingMessages[index];
+    }
+}
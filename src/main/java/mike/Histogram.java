@@ -0,0 +1,110 @@
+package mike;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram counts non-negative values, e.g. latencies in nanoseconds, in log-bucketed buckets in the style of
+ * HdrHistogram: each power of two is split into {@value #SUB_BUCKETS} buckets, so a percentile is within 12.5% of
+ * the true value whatever its magnitude, and the whole range of a long fits in under 500 buckets.
+ * Recording is lock free and safe from several threads at once.
+ * @author ningc
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder total;
+    private final AtomicLong max;
+
+    /**
+     * Constructor for an empty histogram.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.total = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     * @param value The value.
+     */
+    public void record(long value) {
+        long sample = Math.max(0, value);
+        counts.incrementAndGet(getBucket(sample));
+        count.increment();
+        total.add(sample);
+        if (sample > max.get()) {
+            max.accumulateAndGet(sample, Math::max);
+        }
+    }
+
+    static int getBucket(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long getBucketUpperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Getter.
+     * @return The number of values recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Getter.
+     * @return The mean of the values recorded, or 0 if there are none.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Getter.
+     * @return The largest value recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value that the percentile of recorded values are at or below, rounded up to its bucket.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value at the percentile, or 0 if no values were recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -5,13 +5,17 @@ import java.time.format.DateTimeParseException;
 
 /**
  * ListView class is responsible for filtering tasks to be viewed by the user.
+ * A list view is immutable, so it can be kept by a cached {@link mike.command.ListCommand}.
  */
 public class ListView {
     private static final int MAX_HAMMING_DISTANCE = 1;
+    private static final int MAX_PATTERN_LENGTH = 31;
+    private static final int ASCII_SIZE = 128;
     private final boolean isFuzzySearchOn;
     private final ListViewType type;
     private final String attribute;
-    private LocalDate date;
+    private final LocalDate date;
+    private final long[] asciiPatternMasks;
 
     /**
      * Constructor.
@@ -29,7 +33,10 @@ public class ListView {
             } catch (DateTimeParseException e) {
                 throw new MikeException("Please enter a valid date in YYYY-MM-DD format.");
             }
+        } else {
+            this.date = null;
         }
+        this.asciiPatternMasks = isFuzzySearchOn ? createAsciiPatternMasks(attribute) : null;
     }
 
     public ListView(ListViewType type, String attribute) throws MikeException {
@@ -46,6 +53,22 @@ public class ListView {
         return type;
     }
 
+    /**
+     * Getter.
+     * @return The date tasks are listed on, or null if this is not a date view.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Getter.
+     * @return True if descriptions that almost contain the keyword are also kept.
+     */
+    public boolean isFuzzySearchOn() {
+        return isFuzzySearchOn;
+    }
+
     /**
      * Filters tasks by dates.
      * @param taskDate The task date.
@@ -62,79 +85,99 @@ public class ListView {
      * @return True if the task description contains the keyword, otherwise false.
      */
     public boolean keywordFilter(String description) {
-        boolean isViewTypeDescription = type.equals(ListViewType.DESCRIPTION);
-        boolean isKeywordInDescription = description.contains(attribute);
-        boolean isKeywordPartialInDescription = isPartialMatch(description, attribute);
-        if (!isViewTypeDescription) {
-            return true;
-        }
-        if (isKeywordInDescription) {
+        // checked cheapest first, as the fuzzy search allocates and every list goes through here
+        if (!type.equals(ListViewType.DESCRIPTION)) {
             return true;
         }
-        if (isKeywordPartialInDescription && isFuzzySearchOn) {
+        if (description.contains(attribute)) {
             return true;
         }
-        return false;
+        return isFuzzySearchOn && isPartialMatch(description, attribute);
+    }
+
+    /**
+     * Checks if {@link #keywordFilter(String)} falls back to the fuzzy search for the description, as the
+     * description does not contain the keyword exactly.
+     * @param description The task description.
+     * @return True if the fuzzy search runs for the description, otherwise false.
+     */
+    public boolean isFuzzySearchNeeded(String description) {
+        return isFuzzySearchOn && type.equals(ListViewType.DESCRIPTION) && !description.contains(attribute);
     }
 
     private boolean isPartialMatch(String description, String keyword) {
         // bitap algorithm adapted from:
         // https://en.wikipedia.org/wiki/Bitap_algorithm
-        String text = description;
-        String pattern = keyword;
-        char[] result = bitapFuzzyBitwiseSearch(text, pattern, MAX_HAMMING_DISTANCE);;
-        return result != null;
+        return bitapFuzzyBitwiseSearch(description, keyword, MAX_HAMMING_DISTANCE);
     }
 
-    private char[] bitapFuzzyBitwiseSearch(String text, String pattern, int k) {
+    /**
+     * Builds the bitap mask of every ASCII character once, as the keyword of a list view never changes.
+     * Other characters are looked up in the keyword when they are met, see {@link #getPatternMask(char)}.
+     */
+    private static long[] createAsciiPatternMasks(String pattern) {
+        long[] patternMasks = new long[ASCII_SIZE];
+        for (int i = 0; i < ASCII_SIZE; ++i) {
+            patternMasks[i] = ~0;
+        }
+        for (int i = 0; i < pattern.length() && i < MAX_PATTERN_LENGTH; ++i) {
+            char c = pattern.charAt(i);
+            if (c < ASCII_SIZE) {
+                patternMasks[c] &= ~(1L << i);
+            }
+        }
+        return patternMasks;
+    }
+
+    private long getPatternMask(char c) {
+        if (c < ASCII_SIZE) {
+            return asciiPatternMasks[c];
+        }
+        long patternMask = ~0;
+        for (int i = 0; i < attribute.length(); ++i) {
+            if (attribute.charAt(i) == c) {
+                patternMask &= ~(1L << i);
+            }
+        }
+        return patternMask;
+    }
+
+    private boolean bitapFuzzyBitwiseSearch(String text, String pattern, int k) {
         // bitap algorithm adapted from:
         // https://en.wikipedia.org/wiki/Bitap_algorithm
-        char[] result = null;
         int patternLength = pattern.length();
-        long[] r;
-        long[] patternMask = new long[Character.MAX_VALUE + 1];
-
-        char[] t = text.toCharArray();
-        char[] p = pattern.toCharArray();
 
         if (patternLength == 0) {
-            return t;
+            return true;
         }
-        if (patternLength > 31) {
-            return null;
+        if (patternLength > MAX_PATTERN_LENGTH) {
+            return false;
         }
 
-        r = new long[k + 1];
+        long[] r = new long[k + 1];
         for (int i = 0; i <= k; ++i) {
             r[i] = ~1;
         }
 
-        for (int i = 0; i <= Character.MAX_VALUE; ++i) {
-            patternMask[i] = ~0;
-        }
-        for (int i = 0; i < patternLength; ++i) {
-            patternMask[p[i]] &= ~(1L << i);
-        }
-
         for (int i = 0; i < text.length(); ++i) {
+            long patternMask = getPatternMask(text.charAt(i));
             long oldRd = r[0];
 
-            r[0] |= patternMask[t[i]];
+            r[0] |= patternMask;
             r[0] <<= 1;
 
             for (int d = 1; d <= k; ++d) {
                 long tmp = r[d];
 
-                r[d] = (oldRd & (r[d] | patternMask[t[i]])) << 1;
+                r[d] = (oldRd & (r[d] | patternMask)) << 1;
                 oldRd = tmp;
             }
 
             if (0 == (r[k] & (1L << patternLength))) {
-                result = text.substring(i - patternLength + 1, i + 1).toCharArray();
-                break;
+                return true;
             }
         }
-        return result;
+        return false;
     }
 
     @Override
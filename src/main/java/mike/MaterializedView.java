@@ -0,0 +1,225 @@
+package mike;
+
+import java.util.Arrays;
+
+import mike.task.Task;
+
+/**
+ * A saved {@link ListView} whose matching tasks are kept up to date as the {@link TaskList} changes, so showing it
+ * does not rescan the list.
+ * <p>
+ * Matches are kept as a sorted array of task indices. Each change to the list only touches the indices at or after
+ * the changed task. A view tracks at most {@link #MAX_TRACKED_TASKS} matches; past that it stops tracking and falls
+ * back to scanning the list when shown, which keeps its memory bounded. An overflowed view still counts its matches,
+ * and rebuilds its index once they drop to {@link #REBUILD_MATCH_COUNT}, half the cap, so a list that hovers around
+ * the cap is not rescanned on every change.
+ * @author ningc
+ */
+public class MaterializedView {
+    static final int MAX_TRACKED_TASKS = 1 << 18;
+    static final int REBUILD_MATCH_COUNT = MAX_TRACKED_TASKS / 2;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int OBJECT_OVERHEAD_BYTES = 64;
+
+    private final String name;
+    private final String query;
+    private final ListView listView;
+    private final TaskList taskList;
+    private int[] indices;
+    private int size;
+    private boolean isOverflowed;
+    /** The number of matching tasks while the view is overflowed. */
+    private int overflowedMatchCount;
+
+    /**
+     * Constructor. The view is populated from the task list once, then maintained incrementally.
+     * @param name The name the view is saved under.
+     * @param query The command input the view was created from.
+     * @param listView The filter of the view.
+     * @param taskList The tasks to populate the view from.
+     */
+    MaterializedView(String name, String query, ListView listView, TaskList taskList) {
+        this.name = name;
+        this.query = query;
+        this.listView = listView;
+        this.taskList = taskList;
+        this.indices = new int[INITIAL_CAPACITY];
+        populate();
+    }
+
+    private void populate() {
+        int index = 0;
+        for (Task task : taskList.snapshot()) {
+            if (task.inListView(listView)) {
+                if (isOverflowed) {
+                    overflowedMatchCount++;
+                } else {
+                    append(index);
+                }
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Getter.
+     * @return The name the view is saved under.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter.
+     * @return The command input the view was created from.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the number of matching tasks, or -1 if the view has too many matches to track.
+     */
+    public int getMatchCount() {
+        return isOverflowed ? -1 : size;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the view's matches in bytes.
+     */
+    public long getMemoryBytes() {
+        return OBJECT_OVERHEAD_BYTES + (long) indices.length * Integer.BYTES;
+    }
+
+    /**
+     * Renders the matching tasks the same way as {@link TaskList#view(ListView, StringBuilder)}.
+     * @param taskList The task list the view is maintained against.
+     * @param builder The response to append the matching tasks to.
+     */
+    void render(TaskList taskList, StringBuilder builder) {
+        if (isOverflowed) {
+            taskList.view(listView, builder);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            int index = indices[i];
+            taskList.get(index).renderTo(builder.append('\n').append(index + 1).append('.'), listView);
+        }
+    }
+
+    /**
+     * Updates the view after a task is inserted at the index.
+     */
+    void onTaskInserted(int index, Task task) {
+        if (isOverflowed) {
+            overflowedMatchCount += task.inListView(listView) ? 1 : 0;
+            return;
+        }
+        int position = findPosition(index);
+        for (int i = position; i < size; i++) {
+            indices[i]++;
+        }
+        if (task.inListView(listView)) {
+            insert(position, index);
+        }
+    }
+
+    /**
+     * Updates the view after the task at the index is removed.
+     */
+    void onTaskRemoved(int index, Task task) {
+        if (isOverflowed) {
+            overflowedMatchCount -= task.inListView(listView) ? 1 : 0;
+            rebuildIfUnderCap();
+            return;
+        }
+        int position = findPosition(index);
+        if (position < size && indices[position] == index) {
+            System.arraycopy(indices, position + 1, indices, position, size - position - 1);
+            size--;
+        }
+        for (int i = position; i < size; i++) {
+            indices[i]--;
+        }
+    }
+
+    /**
+     * Updates the view after the task at the index is replaced.
+     */
+    void onTaskChanged(int index, Task oldTask, Task task) {
+        if (isOverflowed) {
+            overflowedMatchCount += (task.inListView(listView) ? 1 : 0) - (oldTask.inListView(listView) ? 1 : 0);
+            rebuildIfUnderCap();
+            return;
+        }
+        int position = findPosition(index);
+        boolean isTracked = position < size && indices[position] == index;
+        boolean isMatch = task.inListView(listView);
+        if (isMatch && !isTracked) {
+            insert(position, index);
+        } else if (!isMatch && isTracked) {
+            System.arraycopy(indices, position + 1, indices, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Updates the view after every task is removed.
+     */
+    void onCleared() {
+        indices = new int[INITIAL_CAPACITY];
+        size = 0;
+        isOverflowed = false;
+        overflowedMatchCount = 0;
+    }
+
+    /**
+     * Rebuilds the view after the whole list is replaced, e.g. by an undo.
+     */
+    void onRestored() {
+        onCleared();
+        populate();
+    }
+
+    private void rebuildIfUnderCap() {
+        if (overflowedMatchCount <= REBUILD_MATCH_COUNT) {
+            onRestored();
+        }
+    }
+
+    private void append(int index) {
+        insert(size, index);
+    }
+
+    private void insert(int position, int index) {
+        if (isOverflowed) {
+            return;
+        }
+        if (size == MAX_TRACKED_TASKS) {
+            overflow();
+            return;
+        }
+        if (size == indices.length) {
+            indices = Arrays.copyOf(indices, Math.min(size * 2, MAX_TRACKED_TASKS));
+        }
+        System.arraycopy(indices, position, indices, position + 1, size - position);
+        indices[position] = index;
+        size++;
+    }
+
+    private void overflow() {
+        isOverflowed = true;
+        // the tracked matches and the one that did not fit
+        overflowedMatchCount = size + 1;
+        indices = new int[0];
+        size = 0;
+    }
+
+    /**
+     * Returns the position of the first tracked index at or after the index.
+     */
+    private int findPosition(int index) {
+        int position = Arrays.binarySearch(indices, 0, size, index);
+        return position >= 0 ? position : -position - 1;
+    }
+}
@@ -0,0 +1,91 @@
+package mike;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+import mike.task.Task;
+
+/**
+ * MaterializedViews holds the saved views of a {@link TaskList} and forwards each change of the list to them.
+ * @author ningc
+ */
+public class MaterializedViews {
+    static final int MAX_VIEWS = 32;
+
+    private final LinkedHashMap<String, MaterializedView> views;
+
+    /**
+     * Constructor.
+     */
+    MaterializedViews() {
+        this.views = new LinkedHashMap<String, MaterializedView>();
+    }
+
+    /**
+     * Saves a view, replacing any view with the same name.
+     * @param view The view to save.
+     * @throws MikeException If the maximum number of views are already saved.
+     */
+    public void save(MaterializedView view) throws MikeException {
+        if (views.size() >= MAX_VIEWS && !views.containsKey(view.getName())) {
+            throw new MikeException("You can only save " + MAX_VIEWS + " views. Delete one first.");
+        }
+        views.put(view.getName(), view);
+    }
+
+    /**
+     * Getter.
+     * @param name The name of the view.
+     * @return The saved view, or null if there is no view with that name.
+     */
+    public MaterializedView get(String name) {
+        return views.get(name);
+    }
+
+    /**
+     * Deletes a view.
+     * @param name The name of the view.
+     * @return The deleted view, or null if there is no view with that name.
+     */
+    public MaterializedView remove(String name) {
+        return views.remove(name);
+    }
+
+    /**
+     * Getter.
+     * @return The saved views in the order they were saved.
+     */
+    public Collection<MaterializedView> getAll() {
+        return views.values();
+    }
+
+    void onTaskInserted(int index, Task task) {
+        for (MaterializedView view : views.values()) {
+            view.onTaskInserted(index, task);
+        }
+    }
+
+    void onTaskRemoved(int index, Task task) {
+        for (MaterializedView view : views.values()) {
+            view.onTaskRemoved(index, task);
+        }
+    }
+
+    void onTaskChanged(int index, Task oldTask, Task task) {
+        for (MaterializedView view : views.values()) {
+            view.onTaskChanged(index, oldTask, task);
+        }
+    }
+
+    void onCleared() {
+        for (MaterializedView view : views.values()) {
+            view.onCleared();
+        }
+    }
+
+    void onRestored() {
+        for (MaterializedView view : views.values()) {
+            view.onRestored();
+        }
+    }
+}
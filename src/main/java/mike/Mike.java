@@ -1,14 +1,31 @@
 package mike;
 
-import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 
 import mike.command.Command;
+import mike.command.StatsCommand;
+import mike.task.DescriptionPool;
+import mike.trace.ExecuteEvent;
+import mike.trace.ParseEvent;
+import mike.trace.ScanEvent;
 
 /**
  * Mike class.
  */
 public class Mike {
     private static final String FILE_PATH = "./data/mike.txt";
+    private static final String METRICS_FILE_PATH = "./data/metrics.txt";
+    private static final ClassValue<String> COMMAND_METRIC_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return "command." + type.getSimpleName();
+        }
+    };
     private static final String GREETING =
             " Hello! I'm mike WAZOWSKI.\n"
                     + " What can I do for you?";
@@ -36,33 +53,225 @@ public class Mike {
             + "     (@%(&@@,#,..........,*@@&&@&*,\n";
     private final TaskList taskList;
     private final Storage storage;
+    private final Metrics metrics;
+    private final CommandRegistry commandRegistry;
+    private final ThreadLocal<CommandParser> parsers;
+    private final CommandCache commandCache;
+    private ScheduledExecutorService reminderTimer;
 
     /**
      * Constructor.
+     * @throws MikeException If the task file cannot be loaded.
      */
-    public Mike() {
+    public Mike() throws MikeException {
+        this(fraction -> { });
+    }
+
+    /**
+     * Constructor that reports the progress of loading the task file, e.g. to a progress bar.
+     * @param loadProgress Told the fraction of the task file loaded so far, from 0 to 1.
+     * @throws MikeException If the task file cannot be loaded.
+     */
+    public Mike(DoubleConsumer loadProgress) throws MikeException {
         // Referenced from https://nus-cs2103-ay2324s2.github.io/website/schedule/week3/project.html#a-moreoop
-        this.storage = new Storage(FILE_PATH);
-        this.taskList = storage.load();
+        this.metrics = new Metrics();
+        this.storage = new Storage(FILE_PATH, metrics);
+        this.taskList = storage.load(loadProgress);
+        setTaskGauges();
+        this.commandRegistry = new CommandRegistry();
+        this.commandRegistry.register(new CommandSpec("stats", arguments -> new StatsCommand(metrics)));
+        this.parsers = ThreadLocal.withInitial(() -> new CommandParser(new CommandScanner(commandRegistry)));
+        this.commandCache = new CommandCache();
     }
     /**
-     * Saves the tasklist into file.
+     * Saves the tasklist into file, and the metrics of the session into {@value #METRICS_FILE_PATH}.
      */
     public void save() {
-        storage.writeToFile(taskList);
+        storage.writeToFile(taskList.snapshot());
+        metrics.writeToFile(METRICS_FILE_PATH);
+    }
+
+    /**
+     * Starts checking for reminders of upcoming deadlines and events now and then every minute, on a background
+     * thread. See {@link Reminders}. Calling this again does nothing.
+     * @param listener Told each reminder as it fires, on the background thread.
+     */
+    public synchronized void startReminders(Consumer<String> listener) {
+        if (reminderTimer != null) {
+            return;
+        }
+        reminderTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mike-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reminderTimer.scheduleAtFixedRate(() -> {
+            for (String reminder : taskList.getReminders().check()) {
+                listener.accept(reminder);
+            }
+        }, 0, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Registers an additional command, e.g. from a plugin. See {@link CommandSpec}.
+     * Register commands before sharing Mike between threads, as the registry is not synchronized.
+     * @param spec The command grammar.
+     */
+    public void registerCommand(CommandSpec spec) {
+        commandRegistry.register(spec);
+        commandCache.clear();
     }
 
+    /**
+     * Executes the user input and returns Mike's reply.
+     * Repeated inputs reuse their parsed command, and repeated cacheable commands reuse their response until the
+     * task list changes. This is safe to call from several threads at once: each thread parses with its own scanner
+     * and parser, commands that change the task list take turns holding its write lock, and read only commands
+     * read a {@link TaskList#snapshot()} without a lock.
+     * @param userInput The raw command input.
+     * @return The response to be shown to the user.
+     */
     public MikeResponse getResponse(String userInput) {
         try {
-            List<Token> tokens = new CommandScanner(userInput).scanTokens();
-            Command command = new CommandParser(tokens).parse();
-            String response = command.execute(taskList, storage);
+            CommandCache.Entry entry = getCommandEntry(userInput);
+            Command command = entry.getCommand();
+            CharSequence response = execute(entry, userInput);
             return new MikeResponse(response, command.isExit());
         } catch (MikeException e) {
             return new MikeResponse(e.getMessage());
         }
     }
 
+    /**
+     * Checks if the user input only reads the task list, e.g. so it can be interrupted safely. Input that cannot be
+     * parsed counts as read only, as it changes nothing.
+     * @param userInput The raw command input.
+     * @return False if the input is a command that may change the task list, otherwise true.
+     */
+    public boolean isReadOnly(String userInput) {
+        try {
+            return getCommandEntry(userInput).getCommand().isReadOnly();
+        } catch (MikeException e) {
+            return true;
+        }
+    }
+
+    private CommandCache.Entry getCommandEntry(String userInput) throws MikeException {
+        CommandCache.Entry entry = commandCache.get(userInput);
+        if (entry == null) {
+            CommandParser parser = parsers.get();
+            scan(parser.getScanner(), userInput);
+            entry = commandCache.put(userInput, parse(parser));
+        }
+        return entry;
+    }
+
+    private void scan(CommandScanner scanner, String userInput) {
+        ScanEvent event = new ScanEvent();
+        event.begin();
+        int tokenCount = scanner.scan(userInput);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setInputLength(userInput.length());
+            event.setTokenCount(tokenCount);
+            event.commit();
+        }
+    }
+
+    private Command parse(CommandParser parser) throws MikeException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        Command command = null;
+        try {
+            command = parser.parse();
+            return command;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setCommandType(command == null ? null : command.getClass().getSimpleName());
+                event.setSucceeded(command != null);
+                event.commit();
+            }
+        }
+    }
+
+    private CharSequence execute(CommandCache.Entry entry, String userInput) throws MikeException {
+        Command command = entry.getCommand();
+        ExecuteEvent event = new ExecuteEvent();
+        event.begin();
+        CharSequence response = null;
+        boolean isCached = false;
+        try {
+            if (!command.isReadOnly()) {
+                response = executeWrite(command, userInput);
+                return response;
+            }
+
+            if (!command.isCacheable()) {
+                response = executeTimed(command);
+                return response;
+            }
+
+            long modificationCount = taskList.getModificationCount();
+            response = entry.getResponse(modificationCount);
+            isCached = response != null;
+            if (response == null) {
+                // a response built from a later version is never reused, as the modification count only goes up
+                response = executeTimed(command);
+                entry.setResponse(response, modificationCount);
+            }
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setCommandType(command.getClass().getSimpleName());
+                event.setTaskCount(taskList.size());
+                event.setCached(isCached);
+                event.setResponseLength(response == null ? 0 : response.length());
+                event.commit();
+            }
+        }
+    }
+
+    private CharSequence executeWrite(Command command, String userInput) throws MikeException {
+        StampedLock lock = taskList.getLock();
+        long stamp = lock.writeLock();
+        try {
+            TaskSnapshot before = taskList.snapshot();
+            CharSequence response = executeTimed(command);
+            setTaskGauges();
+            if (command.isUndoable() && taskList.getModificationCount() != before.getVersion()) {
+                taskList.getHistory().record(userInput.trim(), before);
+            }
+            return response;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void setTaskGauges() {
+        metrics.setGauge("tasks", taskList.size());
+        metrics.setGauge("descriptions.savedBytes", DescriptionPool.getSavedBytes());
+        metrics.setGauge("reminders", taskList.getReminders().size());
+    }
+
+    /**
+     * Executes the command, recording its latency and allocations in the {@link Metrics}.
+     * Cached responses skip this, so a repeated read only command costs no more than before.
+     */
+    private CharSequence executeTimed(Command command) throws MikeException {
+        long allocatedBytesBefore = Metrics.getAllocatedBytes();
+        long startNanos = System.nanoTime();
+        try {
+            return command.execute(taskList, storage);
+        } finally {
+            metrics.recordLatency(COMMAND_METRIC_NAMES.get(command.getClass()), startNanos);
+            if (allocatedBytesBefore >= 0) {
+                metrics.increment("command.allocatedBytes", Metrics.getAllocatedBytes() - allocatedBytesBefore);
+            }
+        }
+    }
+
     /**
      * Gets the logo.
      * @return String representation of the logo.
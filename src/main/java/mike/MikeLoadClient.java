@@ -0,0 +1,144 @@
+package mike;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MikeLoadClient opens many sessions to a {@link MikeServer} on this machine at once and reports the throughput and
+ * latency of their commands. The sessions add, find and mark tasks, so point it at a server running on scratch data.
+ * <p>
+ * Usage: {@code MikeLoadClient [port] [sessions] [commands per session]}
+ * @author ningc
+ */
+public class MikeLoadClient {
+    private static final int DEFAULT_SESSIONS = 1000;
+    private static final int DEFAULT_COMMANDS = 20;
+    private static final long SESSION_STACK_SIZE = 256 * 1024;
+
+    private final int port;
+    private final int sessionCount;
+    private final int commandCount;
+    private final long[] latencies;
+    private final AtomicInteger failedSessions;
+
+    /**
+     * Constructor.
+     * @param port The port the server listens on.
+     * @param sessionCount Number of concurrent sessions.
+     * @param commandCount Number of commands each session sends.
+     */
+    public MikeLoadClient(int port, int sessionCount, int commandCount) {
+        this.port = port;
+        this.sessionCount = sessionCount;
+        this.commandCount = commandCount;
+        this.latencies = new long[sessionCount * commandCount];
+        this.failedSessions = new AtomicInteger();
+    }
+
+    /**
+     * Connects every session, then starts them together and waits for them to finish.
+     * @return The report of the run.
+     */
+    public String run() throws InterruptedException {
+        CountDownLatch connected = new CountDownLatch(sessionCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            int session = i;
+            Runnable runnable = () -> runSession(session, connected, start, finished);
+            Thread thread = new Thread(null, runnable, "mike-load-" + session, SESSION_STACK_SIZE);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        connected.await();
+        long startedAt = System.nanoTime();
+        start.countDown();
+        finished.await();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return getReport(elapsedNanos);
+    }
+
+    private void runSession(int session, CountDownLatch connected, CountDownLatch start, CountDownLatch finished) {
+        boolean isConnected = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            in.readLine(); // greeting
+            isConnected = true;
+            connected.countDown();
+            start.await();
+
+            for (int i = 0; i < commandCount; i++) {
+                long sentAt = System.nanoTime();
+                out.write(getCommand(session, i));
+                out.newLine();
+                out.flush();
+                if (in.readLine() == null) {
+                    throw new IOException("Connection closed by server");
+                }
+                latencies[session * commandCount + i] = System.nanoTime() - sentAt;
+            }
+        } catch (IOException e) {
+            failedSessions.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!isConnected) {
+                connected.countDown();
+            }
+            finished.countDown();
+        }
+    }
+
+    private static String getCommand(int session, int index) {
+        switch (index % 3) {
+        case 0:
+            return "todo load test " + session + "-" + index;
+        case 1:
+            return "find load test " + session + "-" + (index - 1) + " /fuzzy off";
+        default:
+            return "mark 1";
+        }
+    }
+
+    private String getReport(long elapsedNanos) {
+        long[] completed = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+        if (completed.length == 0) {
+            return "No commands completed, " + failedSessions.get() + " sessions failed.";
+        }
+        double elapsedSeconds = elapsedNanos / 1e9;
+        return String.format("%d sessions, %d commands in %.2f s (%.0f commands/s), %d sessions failed%n"
+                        + "latency p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                sessionCount, completed.length, elapsedSeconds, completed.length / elapsedSeconds,
+                failedSessions.get(), getPercentile(completed, 0.50) / 1e6, getPercentile(completed, 0.99) / 1e6,
+                completed[completed.length - 1] / 1e6);
+    }
+
+    private static long getPercentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * Runs a load test against a server on this machine and prints the report.
+     * @param args Optionally, the port, the number of sessions and the number of commands per session.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : MikeServer.DEFAULT_PORT;
+        int sessionCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SESSIONS;
+        int commandCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_COMMANDS;
+        Ui.display(new MikeLoadClient(port, sessionCount, commandCount).run());
+    }
+}
@@ -2,21 +2,23 @@ package mike;
 
 /**
  * Wrapper class for Mike response.
+ * The text is kept as the command returned it, so a long list stays in the buffer it was rendered into until it is
+ * paged or written out.
  */
 public class MikeResponse {
-    private final String response;
+    private final CharSequence response;
     private final boolean isExit;
 
     /**
      * Constructor for MikeResponse.
      */
-    MikeResponse(String response) {
+    MikeResponse(CharSequence response) {
         this(response, false);
     }
     /**
      * Constructor for MikeResponse.
      */
-    MikeResponse(String response, boolean isExit) {
+    MikeResponse(CharSequence response, boolean isExit) {
         this.response = response;
         this.isExit = isExit;
     }
@@ -27,8 +29,15 @@ public class MikeResponse {
     public boolean isExit() {
         return isExit;
     }
+    /**
+     * Getter.
+     * @return The response text, without copying it. It must not be changed.
+     */
+    public CharSequence getText() {
+        return response;
+    }
     @Override
     public String toString() {
-        return response;
+        return response.toString();
     }
 }
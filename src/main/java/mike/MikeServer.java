@@ -0,0 +1,222 @@
+package mike;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MikeServer shares one {@link Mike} and its task list with every client that connects on the loopback interface.
+ * <p>
+ * The protocol is line based: the server sends the greeting, then the client sends one command per line and the
+ * server answers each with one line, the response with backslashes and line breaks escaped (see
+ * {@link #encodeLine(String)}). The connection is closed after {@code bye}. Each connection has its own thread,
+ * with a small stack so that thousands of sessions fit. {@link Mike#getResponse(String)} is thread-safe, so
+ * queries from different connections run in parallel while changes to the task list take turns.
+ * @author ningc
+ */
+public class MikeServer {
+    public static final int DEFAULT_PORT = 4117;
+    private static final int CONNECTION_BACKLOG = 1024;
+    private static final long CONNECTION_STACK_SIZE = 256 * 1024;
+    private static final int WRITE_BUFFER_CHARS = 8192;
+
+    private final Mike mike;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections;
+    private final AtomicInteger connectionCount;
+
+    /**
+     * Constructor. Binds to the port on the loopback interface straight away.
+     * @param mike The Mike whose task list is shared.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public MikeServer(Mike mike, int port) throws IOException {
+        this.mike = mike;
+        this.serverSocket = new ServerSocket(port, CONNECTION_BACKLOG, InetAddress.getLoopbackAddress());
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.connectionCount = new AtomicInteger();
+    }
+
+    /**
+     * Getter.
+     * @return The port the server listens on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until {@link #close()} is called, starting a thread for each.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                String threadName = "mike-client-" + connectionCount.incrementAndGet();
+                Thread thread = new Thread(null, () -> handleConnection(socket), threadName, CONNECTION_STACK_SIZE);
+                thread.setDaemon(true);
+                thread.start();
+            } catch (SocketException e) {
+                // closed while waiting for a connection
+            } catch (IOException e) {
+                Ui.displayError(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            Ui.displayError(e.getMessage());
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            writeLine(out, mike.getGreeting());
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                MikeResponse response = getResponse(line);
+                writeLine(out, response.getText());
+                if (response.isExit()) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // the client went away, nothing to answer
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Returns Mike's response, or an error response if the command failed unexpectedly, e.g. was cancelled, so one
+     * failed command neither ends the session nor leaves the client waiting for a reply.
+     */
+    private MikeResponse getResponse(String line) {
+        try {
+            return mike.getResponse(line);
+        } catch (RuntimeException e) {
+            Ui.displayError("Command failed: " + line + ": " + e);
+            return new MikeResponse("Sorry, that command failed: " + e);
+        }
+    }
+
+    private static void writeLine(BufferedWriter out, CharSequence text) throws IOException {
+        writeEncodedLine(out, text);
+        out.newLine();
+        out.flush();
+    }
+
+    /**
+     * Writes the text escaped as {@link #encodeLine(String)} does, through a small buffer, so a long list is never
+     * copied whole.
+     */
+    private static void writeEncodedLine(Writer out, CharSequence text) throws IOException {
+        char[] buffer = new char[WRITE_BUFFER_CHARS];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (length > buffer.length - 2) {
+                out.write(buffer, 0, length);
+                length = 0;
+            }
+            char c = text.charAt(i);
+            if (c == '\\') {
+                buffer[length++] = '\\';
+                buffer[length++] = '\\';
+            } else if (c == '\n') {
+                buffer[length++] = '\\';
+                buffer[length++] = 'n';
+            } else {
+                buffer[length++] = c;
+            }
+        }
+        out.write(buffer, 0, length);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    /**
+     * Escapes the text so it fits on one line of the protocol.
+     * @param text The text, possibly with several lines.
+     * @return The text with backslashes and line breaks escaped.
+     */
+    public static String encodeLine(String text) {
+        return text.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * Reverses {@link #encodeLine(String)}.
+     * @param line A line of the protocol.
+     * @return The original text.
+     */
+    public static String decodeLine(String line) {
+        StringBuilder text = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                i++;
+                text.append(line.charAt(i) == 'n' ? '\n' : line.charAt(i));
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Runs a server for the task list in ./data until the process is stopped, then saves the task list. If the task
+     * list cannot be loaded, it says why and does not start, leaving the file as it is.
+     * @param args Optionally, the port to listen on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Mike mike;
+        try {
+            mike = new Mike();
+        } catch (MikeException e) {
+            Ui.displayError(e.getMessage());
+            return;
+        }
+        MikeServer server = new MikeServer(mike, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            mike.save();
+            Ui.display("Session terminated: data saved successfully.");
+        }));
+        Ui.display("Mike is listening on localhost:" + server.getPort());
+        mike.startReminders(Ui::display);
+        server.serve();
+    }
+}
@@ -0,0 +1,69 @@
+package mike;
+
+/**
+ * PagedResponse splits a long response into pages of lines, found lazily so that showing the first page of a
+ * 100k line list only looks at its first lines. The text is not copied, only the pages taken from it.
+ * @author ningc
+ */
+public class PagedResponse {
+    private final CharSequence text;
+    private final int linesPerPage;
+    private int position;
+
+    /**
+     * Constructor.
+     * @param text The full response text.
+     * @param linesPerPage Maximum number of lines in a page.
+     */
+    public PagedResponse(CharSequence text, int linesPerPage) {
+        assert linesPerPage > 0 : "a page must have lines";
+        this.text = text;
+        this.linesPerPage = linesPerPage;
+        this.position = 0;
+    }
+
+    /**
+     * Checks if there are pages left.
+     * @return True if {@link #nextPage()} has more text to return, otherwise false.
+     */
+    public boolean hasNextPage() {
+        return position < text.length();
+    }
+
+    /**
+     * Returns the next page of lines, without its trailing line break.
+     * @return The next page.
+     */
+    public String nextPage() {
+        int start = position;
+        int end = start;
+        for (int lines = 0; lines < linesPerPage && end < text.length(); lines++) {
+            int lineBreak = indexOfLineBreak(end);
+            if (lineBreak < 0) {
+                end = text.length();
+            } else {
+                end = lineBreak + 1;
+            }
+        }
+        position = end;
+        boolean hasLineBreak = end > start && text.charAt(end - 1) == '\n' && end < text.length();
+        return text.subSequence(start, hasLineBreak ? end - 1 : end).toString();
+    }
+
+    private int indexOfLineBreak(int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Getter.
+     * @return The text of the pages not yet returned.
+     */
+    public String getRemainingText() {
+        return text.subSequence(position, text.length()).toString();
+    }
+}
@@ -0,0 +1,18 @@
+package mike;
+
+/**
+ * Types of values a command parameter can take.
+ * @author ningc
+ */
+public enum ParameterType {
+    /** Free text, kept as a String. */
+    TEXT,
+    /** A base 10 integer. */
+    NUMBER,
+    /** A list view type, i.e. date or description. */
+    VIEW_TYPE,
+    /** A switch, i.e. on or off. */
+    SWITCH,
+    /** The rest of the input as it was typed, forward dashes included. Only allowed as the last parameter. */
+    REST
+}
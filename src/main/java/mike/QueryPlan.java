@@ -0,0 +1,87 @@
+package mike;
+
+/**
+ * QueryPlan describes how {@link TaskList#explain(ListView)} answered a {@link ListView}: the access path taken,
+ * how many tasks were examined and matched, how many of them needed a fuzzy search, and how long filtering the
+ * tasks and rendering the matches took.
+ * @author ningc
+ */
+public class QueryPlan {
+    private final String accessPath;
+    private final int examinedCount;
+    private final int matchCount;
+    private final int fuzzySearchCount;
+    private final long filterNanos;
+    private final long renderNanos;
+    private final int renderedLength;
+
+    /**
+     * Constructor.
+     */
+    QueryPlan(String accessPath, int examinedCount, int matchCount, int fuzzySearchCount, long filterNanos,
+            long renderNanos, int renderedLength) {
+        this.accessPath = accessPath;
+        this.examinedCount = examinedCount;
+        this.matchCount = matchCount;
+        this.fuzzySearchCount = fuzzySearchCount;
+        this.filterNanos = filterNanos;
+        this.renderNanos = renderNanos;
+        this.renderedLength = renderedLength;
+    }
+
+    /**
+     * Getter.
+     * @return How the tasks were found, e.g. "full scan".
+     */
+    public String getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Getter.
+     * @return The number of tasks the filter was applied to.
+     */
+    public int getExaminedCount() {
+        return examinedCount;
+    }
+
+    /**
+     * Getter.
+     * @return The number of tasks that passed the filter.
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Getter.
+     * @return The number of tasks whose description was searched with the fuzzy search.
+     */
+    public int getFuzzySearchCount() {
+        return fuzzySearchCount;
+    }
+
+    /**
+     * Getter.
+     * @return The time taken to filter the tasks, in nanoseconds.
+     */
+    public long getFilterNanos() {
+        return filterNanos;
+    }
+
+    /**
+     * Getter.
+     * @return The time taken to render the matching tasks, in nanoseconds.
+     */
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    /**
+     * Getter.
+     * @return The number of characters the matching tasks rendered to.
+     */
+    public int getRenderedLength() {
+        return renderedLength;
+    }
+}
@@ -0,0 +1,310 @@
+package mike;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ReminderWheel is a hierarchical timing wheel of items due on days, counted as epoch days.
+ * <p>
+ * It has {@value #LEVELS} levels of {@value #SLOT_COUNT} slots. A slot of level 0 holds the items due on one day, a
+ * slot of level 1 the items due in one block of 64 days, and so on, so an item due within the next 64 days is in
+ * level 0 and one due in 10 years in level 2. When the wheel reaches the start of a block, the slot of that block is
+ * moved down a level. Scheduling and cancelling are O(1), and advancing a day only looks at the slots it reaches.
+ * <p>
+ * The items are kept in parallel arrays rather than one object each, as doubly linked lists threaded through index
+ * arrays with a sentinel per slot, and found by an open addressing table of their identities. A pending item costs
+ * about 35 bytes with the spare capacity of the arrays, so a million fit in about 35 MB. Items are compared by
+ * identity.
+ * Not synchronized.
+ * @author ningc
+ */
+public class ReminderWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVELS = 4;
+    /** Sentinel of the items due on or before the current day, fired by the next {@link #advanceTo(long, List)}. */
+    private static final int DUE_LIST = LEVELS * SLOT_COUNT;
+    /** Sentinel of the items due after everything the levels cover, 64^4 days or about 46,000 years. */
+    private static final int FAR_LIST = DUE_LIST + 1;
+    private static final int SENTINEL_COUNT = FAR_LIST + 1;
+    private static final int NONE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] items;
+    private long[] dueDays;
+    private int[] next;
+    private int[] previous;
+    private int freeNode;
+    private int nodeCount;
+    /** Identity hash table of node indices, where 0, a sentinel, marks an empty entry. */
+    private int[] table;
+    private int size;
+    private long currentDay;
+
+    /**
+     * Constructor.
+     * @param currentDay The epoch day the wheel starts at.
+     */
+    public ReminderWheel(long currentDay) {
+        this.currentDay = currentDay;
+        int capacity = SENTINEL_COUNT + MIN_CAPACITY;
+        this.items = new Object[capacity];
+        this.dueDays = new long[capacity];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        for (int sentinel = 0; sentinel < SENTINEL_COUNT; sentinel++) {
+            next[sentinel] = sentinel;
+            previous[sentinel] = sentinel;
+        }
+        this.nodeCount = SENTINEL_COUNT;
+        this.freeNode = NONE;
+        this.table = new int[MIN_CAPACITY * 2];
+    }
+
+    /**
+     * Getter.
+     * @return The epoch day the wheel has advanced to.
+     */
+    public long getCurrentDay() {
+        return currentDay;
+    }
+
+    /**
+     * Getter.
+     * @return The number of items waiting to fire.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules an item, or moves it if it is already scheduled. An item due on or before the current day fires on
+     * the next {@link #advanceTo(long, List)}.
+     * @param item The item.
+     * @param dueDay The epoch day it fires on.
+     */
+    public void schedule(T item, long dueDay) {
+        int node = find(item);
+        if (node != 0) {
+            unlink(node);
+        } else {
+            node = allocate(item);
+            insertIntoTable(node);
+            size++;
+        }
+        dueDays[node] = dueDay;
+        link(node, getList(dueDay));
+    }
+
+    /**
+     * Cancels an item.
+     * @param item The item.
+     * @return True if the item was waiting to fire, otherwise false.
+     */
+    public boolean cancel(T item) {
+        int node = find(item);
+        if (node == 0) {
+            return false;
+        }
+        removeFromTable(node);
+        unlink(node);
+        free(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes every item.
+     */
+    public void clear() {
+        for (int sentinel = 0; sentinel < SENTINEL_COUNT; sentinel++) {
+            next[sentinel] = sentinel;
+            previous[sentinel] = sentinel;
+        }
+        Arrays.fill(items, null);
+        Arrays.fill(table, 0);
+        nodeCount = SENTINEL_COUNT;
+        freeNode = NONE;
+        size = 0;
+    }
+
+    /**
+     * Advances the wheel a day at a time up to the day, firing the items due on the way, in order of day.
+     * @param day The epoch day to advance to. Earlier days only fire the items that are already due.
+     * @param fired Where to add the items that fire. They are no longer scheduled.
+     */
+    public void advanceTo(long day, List<T> fired) {
+        drain(DUE_LIST, fired);
+        while (currentDay < day) {
+            currentDay++;
+            cascade();
+            drain((int) (currentDay & SLOT_MASK), fired);
+            // an item cascaded down on its own day goes straight to the due list
+            drain(DUE_LIST, fired);
+        }
+    }
+
+    /**
+     * Moves the slots the new day starts a block of down a level, highest level first, so an item can fall through
+     * several levels in one day.
+     */
+    private void cascade() {
+        if ((currentDay & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            relink(FAR_LIST);
+        }
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentDay & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                relink(level * SLOT_COUNT + (int) ((currentDay >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+        }
+    }
+
+    private void relink(int sentinel) {
+        int node = next[sentinel];
+        next[sentinel] = sentinel;
+        previous[sentinel] = sentinel;
+        while (node != sentinel) {
+            int following = next[node];
+            link(node, getList(dueDays[node]));
+            node = following;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain(int sentinel, List<T> fired) {
+        int node = next[sentinel];
+        next[sentinel] = sentinel;
+        previous[sentinel] = sentinel;
+        while (node != sentinel) {
+            int following = next[node];
+            fired.add((T) items[node]);
+            removeFromTable(node);
+            free(node);
+            size--;
+            node = following;
+        }
+    }
+
+    /**
+     * Returns the sentinel of the list an item due on the day belongs in: the lowest level whose block, one slot of
+     * the level above, holds both the day and the current day.
+     */
+    private int getList(long dueDay) {
+        if (dueDay <= currentDay) {
+            return DUE_LIST;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((dueDay >>> shift) == (currentDay >>> shift)) {
+                return level * SLOT_COUNT + (int) ((dueDay >>> (SLOT_BITS * level)) & SLOT_MASK);
+            }
+        }
+        return FAR_LIST;
+    }
+
+    private void link(int node, int sentinel) {
+        int last = previous[sentinel];
+        next[last] = node;
+        previous[node] = last;
+        next[node] = sentinel;
+        previous[sentinel] = node;
+    }
+
+    private void unlink(int node) {
+        next[previous[node]] = next[node];
+        previous[next[node]] = previous[node];
+    }
+
+    private int allocate(T item) {
+        int node;
+        if (freeNode != NONE) {
+            node = freeNode;
+            freeNode = next[node];
+        } else {
+            if (nodeCount == items.length) {
+                growNodes();
+            }
+            node = nodeCount++;
+        }
+        items[node] = item;
+        return node;
+    }
+
+    private void free(int node) {
+        items[node] = null;
+        next[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void growNodes() {
+        int capacity = items.length + (items.length >> 1);
+        items = Arrays.copyOf(items, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+    }
+
+    private int getHome(Object item, int mask) {
+        // spread the identity hash, as consecutive objects get similar ones
+        return (System.identityHashCode(item) * 0x9E3779B9) & mask;
+    }
+
+    private int find(Object item) {
+        int mask = table.length - 1;
+        for (int i = getHome(item, mask); table[i] != 0; i = (i + 1) & mask) {
+            if (items[table[i]] == item) {
+                return table[i];
+            }
+        }
+        return 0;
+    }
+
+    private void insertIntoTable(int node) {
+        if ((size + 1) * 2 > table.length) {
+            growTable();
+        }
+        int mask = table.length - 1;
+        int i = getHome(items[node], mask);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = node;
+    }
+
+    private void growTable() {
+        int[] oldTable = table;
+        table = new int[oldTable.length * 2];
+        int mask = table.length - 1;
+        for (int node : oldTable) {
+            if (node != 0) {
+                int i = getHome(items[node], mask);
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = node;
+            }
+        }
+    }
+
+    /**
+     * Removes the node from the table, shifting back the entries after it that would otherwise no longer be found.
+     */
+    private void removeFromTable(int node) {
+        int mask = table.length - 1;
+        int i = getHome(items[node], mask);
+        while (table[i] != node) {
+            i = (i + 1) & mask;
+        }
+        int gap = i;
+        for (int j = (gap + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = getHome(items[table[j]], mask);
+            // move the entry into the gap if its home is not between the gap and it, cyclically
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = table[j];
+                gap = j;
+            }
+        }
+        table[gap] = 0;
+    }
+}
@@ -0,0 +1,119 @@
+package mike;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import mike.task.Task;
+
+/**
+ * Reminders keeps a reminder for every deadline and event of a {@link TaskList} that is not done yet, due
+ * {@value #LEAD_DAYS} day before its date. The list forwards each change to it, so adding, marking or deleting a
+ * task schedules or cancels its reminder in O(1) on a {@link ReminderWheel}, instead of scanning the list for tasks
+ * that are due.
+ * <p>
+ * Tasks without a date, including recurring tasks, and tasks whose date has passed get no reminder. A reminder fires
+ * once: a task is reminded of again only if it is changed, or the list is loaded again.
+ * All methods are synchronized, as {@link #check()} is called from a timer while commands change the list.
+ * @author ningc
+ */
+public class Reminders {
+    static final int LEAD_DAYS = 1;
+
+    private final Clock clock;
+    private final ReminderWheel<Task> wheel;
+
+    /**
+     * Constructor for reminders on the system clock.
+     */
+    Reminders() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor.
+     * @param clock The clock that decides what today is.
+     */
+    Reminders(Clock clock) {
+        this.clock = clock;
+        this.wheel = new ReminderWheel<>(LocalDate.now(clock).toEpochDay());
+    }
+
+    synchronized void onTaskAdded(Task task) {
+        schedule(task);
+    }
+
+    synchronized void onTasksAdded(Iterable<? extends Task> tasks) {
+        for (Task task : tasks) {
+            schedule(task);
+        }
+    }
+
+    synchronized void onTaskChanged(Task oldTask, Task task) {
+        wheel.cancel(oldTask);
+        schedule(task);
+    }
+
+    synchronized void onTaskRemoved(Task task) {
+        wheel.cancel(task);
+    }
+
+    synchronized void onCleared() {
+        wheel.clear();
+    }
+
+    synchronized void onRestored(TaskList taskList) {
+        wheel.clear();
+        for (Task task : taskList.snapshot()) {
+            schedule(task);
+        }
+    }
+
+    private void schedule(Task task) {
+        LocalDate date = task.getReminderDate();
+        if (date == null || task.getIsDone().equals("true") || date.toEpochDay() < wheel.getCurrentDay()) {
+            return;
+        }
+        wheel.schedule(task, date.toEpochDay() - LEAD_DAYS);
+    }
+
+    /**
+     * Fires the reminders that are due today or earlier.
+     * @return The reminders to show, in order of date, each naming the task it is for.
+     */
+    public synchronized List<String> check() {
+        LocalDate today = LocalDate.now(clock);
+        List<Task> dueTasks = new ArrayList<>();
+        wheel.advanceTo(today.toEpochDay(), dueTasks);
+
+        List<String> reminders = new ArrayList<>(dueTasks.size());
+        for (Task task : dueTasks) {
+            long daysLeft = task.getReminderDate().toEpochDay() - today.toEpochDay();
+            StringBuilder reminder = new StringBuilder("Reminder, ").append(getWhen(daysLeft)).append(":\n  ");
+            task.renderTo(reminder);
+            reminders.add(reminder.toString());
+        }
+        return reminders;
+    }
+
+    private static String getWhen(long daysLeft) {
+        if (daysLeft < 0) {
+            // e.g. the reminder was due while Mike was not running
+            return "this has passed";
+        } else if (daysLeft == 0) {
+            return "coming up today";
+        } else if (daysLeft == 1) {
+            return "coming up tomorrow";
+        }
+        return "coming up in " + daysLeft + " days";
+    }
+
+    /**
+     * Getter.
+     * @return The number of reminders waiting to fire.
+     */
+    public synchronized int size() {
+        return wheel.size();
+    }
+}
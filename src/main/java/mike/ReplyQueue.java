@@ -0,0 +1,77 @@
+package mike;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReplyQueue holds replies until they have been paced for long enough, so that replies which become due together
+ * can be shown in one go. Replies come out in the order they were offered.
+ * @param <T> Type of the replies.
+ * @author ningc
+ */
+public class ReplyQueue<T> {
+    private final ArrayDeque<T> replies;
+    private final ArrayDeque<Long> submittedTimes;
+    private long pacingNanos;
+
+    /**
+     * Constructor.
+     * @param pacingNanos Time from submitting a command until its reply is shown, in nanoseconds. May be zero.
+     */
+    public ReplyQueue(long pacingNanos) {
+        assert pacingNanos >= 0 : "pacing cannot be negative";
+        this.replies = new ArrayDeque<>();
+        this.submittedTimes = new ArrayDeque<>();
+        this.pacingNanos = pacingNanos;
+    }
+
+    /**
+     * Setter. Applies to the replies already queued too.
+     * @param pacingNanos Time from submitting a command until its reply is shown, in nanoseconds. May be zero.
+     */
+    public void setPacingNanos(long pacingNanos) {
+        assert pacingNanos >= 0 : "pacing cannot be negative";
+        this.pacingNanos = pacingNanos;
+    }
+
+    /**
+     * Getter.
+     * @return Time from submitting a command until its reply is shown, in nanoseconds.
+     */
+    public long getPacingNanos() {
+        return pacingNanos;
+    }
+
+    /**
+     * Queues a reply.
+     * @param reply The reply.
+     * @param submittedAtNanos {@link System#nanoTime()} when the command was submitted.
+     */
+    public void offer(T reply, long submittedAtNanos) {
+        replies.add(reply);
+        submittedTimes.add(submittedAtNanos);
+    }
+
+    /**
+     * Removes and returns every reply that is due, stopping at the first one that is not so the order is kept.
+     * @param nowNanos The current {@link System#nanoTime()}.
+     * @return The due replies, possibly empty.
+     */
+    public List<T> pollReady(long nowNanos) {
+        List<T> readyReplies = new ArrayList<>();
+        while (!replies.isEmpty() && nowNanos - submittedTimes.peek() >= pacingNanos) {
+            submittedTimes.poll();
+            readyReplies.add(replies.poll());
+        }
+        return readyReplies;
+    }
+
+    /**
+     * Checks if there are replies waiting.
+     * @return True if no reply is queued, otherwise false.
+     */
+    public boolean isEmpty() {
+        return replies.isEmpty();
+    }
+}
@@ -1,34 +1,44 @@
 package mike;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.nio.file.Files;
-import java.util.Scanner;
+import java.util.List;
+import java.util.function.DoubleConsumer;
 
-import mike.task.Deadline;
-import mike.task.Event;
 import mike.task.Task;
-import mike.task.Todo;
+import mike.trace.StorageEvent;
 
 /**
  * Storage is responsible for loading and saving {@link TaskList} instance data.
+ * The time taken by each load, write and archive is recorded in {@link Metrics}, with the size of the saved file,
+ * and emitted as a {@link StorageEvent} for Flight Recorder.
  * @author ningc
  */
 public class Storage {
     private final String fileDirectory;
     private final String filePath;
+    private final Metrics metrics;
     private File file;
 
     /**
      * Constructor.
      * @param filePath The relative path to the storage file.
+     * @param metrics Where to record the time taken by storage operations.
      */
-    Storage(String filePath) {
+    Storage(String filePath, Metrics metrics) {
         String[] filePathComponents = filePath.split("/");
         this.fileDirectory = filePathComponents[1];
         this.filePath = filePath;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Constructor for storage whose metrics are not reported.
+     * @param filePath The relative path to the storage file.
+     */
+    Storage(String filePath) {
+        this(filePath, new Metrics());
     }
 
     /**
@@ -47,52 +57,75 @@ public class Storage {
     /**
      * Return a TaskList object constructed from file data.
      * @return TaskList
+     * @throws MikeException If the file cannot be read, or a line of it is corrupted.
      */
-    public TaskList load() {
+    public TaskList load() throws MikeException {
+        return load(fraction -> { });
+    }
+
+    /**
+     * Return a TaskList object constructed from file data, reporting how much of the file has been read.
+     * Large files are parsed in parallel by a {@link TaskFileLoader}.
+     * @param progress Told the fraction of the file read so far, from 0 to 1, about a hundred times.
+     * @return TaskList
+     * @throws MikeException If the file cannot be read, or a line of it is corrupted. Nothing should then be saved
+     *     over the file, as it still holds the tasks that could not be loaded.
+     */
+    public TaskList load(DoubleConsumer progress) throws MikeException {
+        long startNanos = System.nanoTime();
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        TaskList taskList = null;
         try {
             initializeFileDirectory();
             File file = initializeFile();
-            TaskList taskList = extractFile(file);
+            taskList = extractFile(file, progress);
             return taskList;
         } catch (IOException e) {
-            Ui.displayError("404 File not found");
-            return new TaskList();
-        } catch (MikeException e) {
-            Ui.displayError(e.getMessage());
-            return new TaskList();
+            throw new MikeException("Could not read " + filePath + ": " + e.getMessage());
+        } finally {
+            metrics.recordLatency("storage.load", startNanos);
+            commit(event, "load", filePath, taskList == null ? 0 : taskList.size());
         }
     }
 
     /**
-     * Archives the current file.
-     *
+     * Archives the tasks into another file and clears the current file.
+     * @param archiveFileName Name of the archive file.
+     * @param tasks The tasks to archive, e.g. a {@link TaskList#snapshot()}.
      */
-    public void archive(String archiveFileName) throws MikeException {
+    public void archive(String archiveFileName, List<Task> tasks) throws MikeException {
+        long startNanos = System.nanoTime();
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        String archiveFileDirectory = fileDirectory + "/archive";
+        String archiveFilePath = archiveFileDirectory + "/" + archiveFileName;
         try {
-            String archiveFileDirectory = fileDirectory + "/archive";
-            String archiveFilePath = archiveFileDirectory + "/" + archiveFileName;
             initializeArchiveFileDirectory(archiveFileDirectory, archiveFilePath);
-            File archiveFile = initializeArchiveFile(archiveFilePath);
+            File archiveFile = initializeArchiveFile(archiveFilePath, tasks);
             clearFile();
         } catch (IOException e) {
             throw new MikeException(e.getMessage());
+        } finally {
+            metrics.recordLatency("storage.archive", startNanos);
+            commit(event, "archive", archiveFilePath, tasks.size());
         }
     }
 
-    private TaskList extractFile(File file) throws FileNotFoundException, MikeException {
-        Scanner fileScanner = new Scanner(file);
-
-        String line;
-        Task newTask;
-        TaskList taskList = new TaskList();
-
-        while (fileScanner.hasNext()) {
-            line = fileScanner.nextLine();
-            newTask = extractTask(line);
-            taskList.add(newTask);
+    private void commit(StorageEvent event, String operation, String path, int taskCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setOperation(operation);
+            event.setPath(path);
+            event.setTaskCount(taskCount);
+            event.setBytes(new File(path).length());
+            event.commit();
         }
+    }
 
-        fileScanner.close();
+    private TaskList extractFile(File file, DoubleConsumer progress) throws IOException, MikeException {
+        TaskList taskList = new TaskList();
+        taskList.addAll(new TaskFileLoader().load(file, progress));
         return taskList;
     }
 
@@ -124,60 +157,41 @@ public class Storage {
         return file;
     }
 
-    private File initializeArchiveFile(String archiveFilePath) throws IOException, MikeException {
+    private File initializeArchiveFile(String archiveFilePath, List<Task> tasks) throws IOException, MikeException {
         File archiveFile = new File(archiveFilePath);
-        Files.copy(file.toPath(), archiveFile.toPath());
-        if (archiveFile.exists()) {
-            Ui.display("Archive '" + archiveFile.getName() + "' created");
-        } else {
+        if (!archiveFile.createNewFile()) {
             throw new MikeException("Error: an archive exists with that name already");
         }
+        writeTasks(archiveFile, tasks);
+        Ui.display("Archive '" + archiveFile.getName() + "' created");
         return archiveFile;
     }
 
     /**
      * Writes taskList data into file.
-     * @param taskList The list of tasks.
+     * @param tasks The list of tasks. Pass a {@link TaskList#snapshot()} to save while commands keep running.
      */
-    public void writeToFile(TaskList taskList) {
-        try (PrintWriter out = new PrintWriter(filePath)) {
-            for (Task task : taskList) {
-                out.println(task.getFileEncoding());
-            }
+    public void writeToFile(List<Task> tasks) {
+        long startNanos = System.nanoTime();
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        File file = new File(filePath);
+        try {
+            writeTasks(file, tasks);
         } catch (IOException e) {
             Ui.display(e.getMessage());
+        } finally {
+            metrics.recordLatency("storage.write", startNanos);
+            metrics.setGauge("storage.fileBytes", file.length());
+            commit(event, "write", filePath, tasks.size());
         }
     }
 
-    private Task extractTask(String line) throws IndexOutOfBoundsException, MikeException {
-        String[] taskInformation = line.split(",");
-        String taskType = taskInformation[0];
-        String taskDescription = taskInformation[1];
-        boolean isTaskCompleted = taskInformation[2].equals("true");
-
-        Task newTask;
-
-        switch (taskType) {
-        case "Todo":
-            newTask = new Todo(taskDescription);
-            break;
-        case "Deadline": // format: taskType,taskDescription,taskDone,deadline
-            String deadline = taskInformation[3];
-            newTask = new Deadline(taskDescription, deadline);
-            break;
-        case "Event": // format: taskType,taskDescription,taskDone,startDate,endDate
-            String startDate = taskInformation[3];
-            String endDate = taskInformation[4];
-            newTask = new Event(taskDescription, startDate, endDate);
-            break;
-        default:
-            throw new MikeException("File corrupted. Unable to load saved data.");
-        }
-
-        if (isTaskCompleted) {
-            newTask.markAsDone();
+    private void writeTasks(File file, List<Task> tasks) throws IOException {
+        try (PrintWriter out = new PrintWriter(file)) {
+            for (Task task : tasks) {
+                out.println(task.getFileEncoding());
+            }
         }
-
-        return newTask;
     }
 }
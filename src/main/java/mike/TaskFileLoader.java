@@ -0,0 +1,329 @@
+package mike;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+
+import mike.task.Deadline;
+import mike.task.Event;
+import mike.task.RecurringTask;
+import mike.task.Task;
+import mike.task.Todo;
+
+/**
+ * TaskFileLoader reads the tasks in a storage file. The file is split into byte ranges that end at a newline, the
+ * ranges are decoded and parsed on a pool of worker threads, and their tasks are joined back in file order.
+ * Files under {@value #MIN_CHUNK_BYTES} bytes are read on the calling thread as a single range.
+ * <p>
+ * The file is read with the default charset, as it is written by {@link Storage}, which is assumed to encode
+ * {@code '\n'} as that single byte. A malformed line is reported with its line number in the whole file.
+ * @author ningc
+ */
+class TaskFileLoader {
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+    private static final int MAX_CHUNK_BYTES = 1 << 26;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_SCAN_BYTES = 4096;
+    private static final int PROGRESS_STEPS = 100;
+    private static final String CORRUPTED_MESSAGE = "File corrupted. Unable to load saved data.";
+    /** The format event dates used to be saved in, e.g. "Sep 14 2023". */
+    private static final DateTimeFormatter LEGACY_EVENT_DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
+    private final int threadCount;
+    private final Charset charset;
+
+    /**
+     * Constructor.
+     * @param threadCount Most worker threads to parse with.
+     */
+    TaskFileLoader(int threadCount) {
+        assert threadCount > 0;
+        this.threadCount = threadCount;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Constructor for a loader with a worker thread per processor.
+     */
+    TaskFileLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the tasks in the file, in file order.
+     * @param file The storage file.
+     * @param progress Told the fraction of the file parsed so far, from 0 to 1, about {@value #PROGRESS_STEPS} times.
+     * @throws MikeException If a line cannot be parsed, with the number of the first such line.
+     */
+    List<Task> load(File file, DoubleConsumer progress) throws IOException, MikeException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<Chunk> chunks = split(channel, size, new Progress(size, progress));
+            if (chunks.size() == 1) {
+                chunks.get(0).call();
+            } else {
+                parseInParallel(chunks);
+            }
+            progress.accept(1);
+            return join(chunks);
+        }
+    }
+
+    private List<Chunk> split(FileChannel channel, long size, Progress progress) throws IOException {
+        long chunkCount = Math.max((size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES,
+                Math.min((long) threadCount * CHUNKS_PER_THREAD, size / MIN_CHUNK_BYTES));
+        List<Chunk> chunks = new ArrayList<>();
+        long start = 0;
+        for (long i = 1; i < chunkCount && start < size; i++) {
+            long end = findLineEnd(channel, Math.max(start, size / chunkCount * i), size);
+            if (end > start) {
+                chunks.add(new Chunk(channel, start, end, progress));
+                start = end;
+            }
+        }
+        chunks.add(new Chunk(channel, start, size, progress));
+        return chunks;
+    }
+
+    /**
+     * Returns the position just after the first newline at or after a position, or the size if there is none.
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private void parseInParallel(List<Chunk> chunks) throws IOException, MikeException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threadCount, chunks.size()), runnable -> {
+            Thread thread = new Thread(runnable, "mike-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<Void> future : pool.invokeAll(chunks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MikeException("Loading was interrupted. Unable to load saved data.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Concatenates the tasks of the chunks, or throws the error of the first malformed line.
+     */
+    private static List<Task> join(List<Chunk> chunks) throws MikeException {
+        long lineOffset = 0;
+        int taskCount = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.errorMessage != null) {
+                throw new MikeException("Line " + (lineOffset + chunk.errorLine) + ": " + chunk.errorMessage);
+            }
+            lineOffset += chunk.lineCount;
+            taskCount += chunk.tasks.size();
+        }
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (Chunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the task encoded by a line of the storage file.
+     */
+    static Task extractTask(String line) throws IndexOutOfBoundsException, MikeException {
+        String[] taskInformation = line.split(",");
+        String taskType = taskInformation[0];
+        String taskDescription = taskInformation[1];
+        boolean isTaskCompleted = taskInformation[2].equals("true");
+
+        Task newTask;
+
+        switch (taskType) {
+        case "Todo":
+            newTask = new Todo(taskDescription);
+            break;
+        case "Deadline": // format: taskType,taskDescription,taskDone,deadline
+            String deadline = taskInformation[3];
+            newTask = new Deadline(taskDescription, deadline);
+            break;
+        case "Event": // format: taskType,taskDescription,taskDone,startDate,endDate
+            String startDate = toIsoDate(taskInformation[3]);
+            String endDate = toIsoDate(taskInformation[4]);
+            newTask = new Event(taskDescription, startDate, endDate);
+            break;
+        case "Recurring": // format: taskType,taskDescription,taskDone,startDate,interval,endDate[,overrides]
+            String overrides = taskInformation.length > 6 ? taskInformation[6] : "";
+            newTask = new RecurringTask(taskDescription, taskInformation[3], taskInformation[4], taskInformation[5],
+                    overrides);
+            break;
+        default:
+            throw new MikeException(CORRUPTED_MESSAGE);
+        }
+
+        if (isTaskCompleted) {
+            newTask.markAsDone();
+        }
+
+        return newTask;
+    }
+
+    /**
+     * Returns an event date saved in the legacy format as an ISO date, and any other text as it is.
+     */
+    private static String toIsoDate(String date) {
+        if (date.isEmpty() || !Character.isLetter(date.charAt(0))) {
+            return date;
+        }
+        try {
+            return LocalDate.parse(date, LEGACY_EVENT_DATE_FORMAT).toString();
+        } catch (DateTimeParseException e) {
+            return date;
+        }
+    }
+
+    /**
+     * The bytes of the file parsed so far by all chunks, reported as a fraction that only goes up.
+     */
+    private static class Progress {
+        private final long size;
+        private final DoubleConsumer consumer;
+        private long parsedBytes;
+
+        Progress(long size, DoubleConsumer consumer) {
+            this.size = Math.max(1, size);
+            this.consumer = consumer;
+        }
+
+        long getStepBytes() {
+            return Math.max(1, size / PROGRESS_STEPS);
+        }
+
+        synchronized void add(long bytes) {
+            parsedBytes += bytes;
+            consumer.accept(Math.min(1, (double) parsedBytes / size));
+        }
+    }
+
+    /**
+     * A newline-aligned byte range of the file, and once called, its tasks and line count, or its first malformed
+     * line, numbered from 1 within the range.
+     */
+    private class Chunk implements Callable<Void> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final Progress progress;
+        private final List<Task> tasks;
+        private long lineCount;
+        private long errorLine;
+        private String errorMessage;
+
+        Chunk(FileChannel channel, long start, long end, Progress progress) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.progress = progress;
+            this.tasks = new ArrayList<>();
+        }
+
+        @Override
+        public Void call() throws IOException {
+            byte[] bytes = read();
+            long stepBytes = progress.getStepBytes();
+            int unreportedFrom = 0;
+            int lineStart = 0;
+            while (lineStart < bytes.length) {
+                int lineEnd = lineStart;
+                while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                lineCount++;
+                if (!parseLine(bytes, lineStart, lineEnd)) {
+                    return null;
+                }
+                lineStart = lineEnd + 1;
+                if (lineStart - unreportedFrom >= stepBytes) {
+                    progress.add(lineStart - unreportedFrom);
+                    unreportedFrom = lineStart;
+                }
+            }
+            progress.add(bytes.length - unreportedFrom);
+            return null;
+        }
+
+        private byte[] read() throws IOException {
+            byte[] bytes = new byte[(int) (end - start)];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("File changed while loading");
+                }
+            }
+            return bytes;
+        }
+
+        /**
+         * Parses a line into a task, skipping blank lines.
+         * @return False if the line is malformed.
+         */
+        private boolean parseLine(byte[] bytes, int lineStart, int lineEnd) {
+            if (lineEnd > lineStart && bytes[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
+            String line = new String(bytes, lineStart, lineEnd - lineStart, charset);
+            if (line.isBlank()) {
+                return true;
+            }
+            try {
+                tasks.add(extractTask(line));
+                return true;
+            } catch (IndexOutOfBoundsException e) {
+                errorMessage = CORRUPTED_MESSAGE;
+            } catch (MikeException e) {
+                errorMessage = e.getMessage();
+            }
+            errorLine = lineCount;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package mike;
+
+import java.util.ArrayDeque;
+
+/**
+ * TaskHistory keeps the versions of a {@link TaskList} before recent changes, so that the changes can be undone
+ * and redone.
+ * <p>
+ * Each entry is a {@link TaskSnapshot}, which shares its tasks with the current list, so recording a change and
+ * undoing it are O(1) however many tasks the change touched: undoing an archive swaps the old tree back in rather
+ * than copying it. At most {@link #getDepth()} changes are kept, set with the {@value #DEPTH_PROPERTY} system
+ * property; older ones are forgotten.
+ * @author ningc
+ */
+public class TaskHistory {
+    static final String DEPTH_PROPERTY = "mike.undoDepth";
+    private static final int DEFAULT_DEPTH = 100;
+
+    private final int depth;
+    private final ArrayDeque<Entry> undoEntries;
+    private final ArrayDeque<Entry> redoEntries;
+
+    /**
+     * Constructor.
+     * @param depth Maximum number of changes that can be undone.
+     */
+    public TaskHistory(int depth) {
+        assert depth >= 0 : "depth cannot be negative";
+        this.depth = depth;
+        this.undoEntries = new ArrayDeque<>();
+        this.redoEntries = new ArrayDeque<>();
+    }
+
+    /**
+     * Constructor for a history with the depth configured by the {@value #DEPTH_PROPERTY} system property.
+     */
+    public TaskHistory() {
+        this(getConfiguredDepth());
+    }
+
+    private static int getConfiguredDepth() {
+        try {
+            return Math.max(0, Integer.parseInt(System.getProperty(DEPTH_PROPERTY, String.valueOf(DEFAULT_DEPTH))));
+        } catch (NumberFormatException e) {
+            return DEFAULT_DEPTH;
+        }
+    }
+
+    /**
+     * Getter.
+     * @return Maximum number of changes that can be undone.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Records a change to the list, which forgets the changes that could be redone.
+     * @param description The command input that made the change.
+     * @param before The list before the change.
+     */
+    void record(String description, TaskSnapshot before) {
+        redoEntries.clear();
+        push(undoEntries, new Entry(description, before));
+    }
+
+    /**
+     * Puts the list back to how it was before the most recent change.
+     * @param taskList The list to restore.
+     * @return The command input that made the undone change.
+     * @throws MikeException If there is no change to undo.
+     */
+    String undo(TaskList taskList) throws MikeException {
+        Entry entry = undoEntries.pollFirst();
+        if (entry == null) {
+            throw new MikeException("There is nothing to undo.");
+        }
+        push(redoEntries, new Entry(entry.description, taskList.snapshot()));
+        taskList.restore(entry.snapshot);
+        return entry.description;
+    }
+
+    /**
+     * Makes the most recently undone change again.
+     * @param taskList The list to restore.
+     * @return The command input that made the redone change.
+     * @throws MikeException If there is no change to redo.
+     */
+    String redo(TaskList taskList) throws MikeException {
+        Entry entry = redoEntries.pollFirst();
+        if (entry == null) {
+            throw new MikeException("There is nothing to redo.");
+        }
+        push(undoEntries, new Entry(entry.description, taskList.snapshot()));
+        taskList.restore(entry.snapshot);
+        return entry.description;
+    }
+
+    private void push(ArrayDeque<Entry> entries, Entry entry) {
+        if (depth == 0) {
+            return;
+        }
+        if (entries.size() == depth) {
+            entries.pollLast();
+        }
+        entries.push(entry);
+    }
+
+    /**
+     * A change and the version of the list to go back to.
+     */
+    private static class Entry {
+        private final String description;
+        private final TaskSnapshot snapshot;
+
+        private Entry(String description, TaskSnapshot snapshot) {
+            this.description = description;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -1,28 +1,304 @@
 package mike;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.StampedLock;
 
 import mike.task.Task;
+import mike.trace.FilterEvent;
 
 /**
- * TaskList is a wrapper class for an ArrayList of {@link Task} objects.
+ * TaskList is the list of {@link Task} objects, kept as a persistent {@link TaskTree}.
+ * Changes made through {@link #add(Task)}, {@link #add(int, Task)}, {@link #set(int, Task)}, {@link #remove(int)} and
+ * {@link #clear()} are forwarded to the saved {@link MaterializedViews} and to the {@link Reminders}.
+ * <p>
+ * Every change publishes a new version of the list, which {@link #snapshot()} returns in O(1). Reads of a snapshot,
+ * and single reads such as {@link #get(int)} and {@link #size()}, need no lock. Changes are not synchronized, so
+ * code that changes the list from several threads holds the write lock of {@link #getLock()}. Replace a task with
+ * {@link #set(int, Task)} rather than changing it in place, so that older snapshots keep the old task.
  * @author ningc
  */
-public class TaskList extends ArrayList<Task> {
+public class TaskList extends AbstractList<Task> {
+    private final MaterializedViews materializedViews = new MaterializedViews();
+    private final Reminders reminders = new Reminders();
+    private final TaskHistory history = new TaskHistory();
+    private final StampedLock lock = new StampedLock();
+    private volatile TaskSnapshot current = TaskSnapshot.EMPTY;
+
+    private void publish(TaskTree tree) {
+        current = new TaskSnapshot(tree, current.getVersion() + 1);
+        modCount++;
+    }
+
+    /**
+     * Returns the current version of the list. Later changes to the list do not affect it.
+     * @return A read only snapshot of the list.
+     */
+    public TaskSnapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    public Task get(int index) {
+        return current.get(index);
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return current.iterator();
+    }
+
+    @Override
+    public boolean add(Task task) {
+        add(size(), task);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        publish(TaskTree.insert(current.getTree(), index, task));
+        materializedViews.onTaskInserted(index, task);
+        reminders.onTaskAdded(task);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Task> tasks) {
+        if (!isEmpty() || !materializedViews.getAll().isEmpty()) {
+            return super.addAll(tasks);
+        }
+        // e.g. loading from file: build the tree in one pass instead of rebalancing after every task
+        publish(TaskTree.build(List.copyOf(tasks)));
+        reminders.onTasksAdded(tasks);
+        return !tasks.isEmpty();
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task oldTask = get(index);
+        publish(TaskTree.set(current.getTree(), index, task));
+        materializedViews.onTaskChanged(index, oldTask, task);
+        reminders.onTaskChanged(oldTask, task);
+        return oldTask;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        publish(TaskTree.remove(current.getTree(), index));
+        materializedViews.onTaskRemoved(index, task);
+        reminders.onTaskRemoved(task);
+        return task;
+    }
+
+    @Override
+    public void clear() {
+        publish(null);
+        materializedViews.onCleared();
+        reminders.onCleared();
+    }
+
+    /**
+     * Replaces the whole list with an earlier version in O(1), e.g. to undo a change. The saved views and the
+     * reminders are rebuilt.
+     * @param snapshot The version to restore.
+     */
+    void restore(TaskSnapshot snapshot) {
+        publish(snapshot.getTree());
+        materializedViews.onRestored();
+        reminders.onRestored(this);
+    }
+
+    /**
+     * Undoes the most recent change recorded in the history.
+     * @return The command input that made the undone change.
+     * @throws MikeException If there is no change to undo.
+     */
+    public String undo() throws MikeException {
+        return history.undo(this);
+    }
+
+    /**
+     * Redoes the most recently undone change.
+     * @return The command input that made the redone change.
+     * @throws MikeException If there is no change to redo.
+     */
+    public String redo() throws MikeException {
+        return history.redo(this);
+    }
+
+    /**
+     * Getter.
+     * @return The history of changes to this list.
+     */
+    public TaskHistory getHistory() {
+        return history;
+    }
+
     /**
      * Returns a filtered view of the task list to tasks permitted by the ListView object.
+     * The tasks are read from a snapshot, so a long scan neither blocks nor sees changes made while it runs.
      * @param listView
      * @return Filtered task list represented as a String.
      */
     public String view(ListView listView) {
-        return this
-                .stream()
-                .filter(task -> task.inListView(listView))
-                .map(task -> {
-                    int index = this.indexOf(task) + 1;
-                    return index + "." + task;
-                })
-                .reduce("", (s1, s2) -> s1 + "\n" + s2);
+        StringBuilder builder = new StringBuilder();
+        view(listView, builder);
+        return builder.toString();
     }
 
+    /**
+     * Appends the view of {@link #view(ListView)} to a response, so a long list is rendered straight into the
+     * response without an intermediate String.
+     * @param listView The filter.
+     * @param builder The response to append the matching tasks to.
+     */
+    public void view(ListView listView, StringBuilder builder) {
+        FilterEvent event = new FilterEvent();
+        event.begin();
+        int taskNumber = 0;
+        int matchCount = 0;
+        for (Task task : snapshot()) {
+            checkNotCancelled();
+            taskNumber++;
+            if (task.inListView(listView)) {
+                task.renderTo(builder.append('\n').append(taskNumber).append('.'), listView);
+                matchCount++;
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setExaminedCount(taskNumber);
+            event.setMatchCount(matchCount);
+            event.setFuzzySearchOn(listView.isFuzzySearchOn());
+            event.commit();
+        }
+    }
+
+    /**
+     * Answers the list view the way {@link #view(ListView)} does, but filters all the tasks before rendering any of
+     * them so each stage can be timed, and reports how the view was answered instead of the tasks.
+     * @param listView The filter to explain.
+     * @return How the view was answered.
+     */
+    public QueryPlan explain(ListView listView) {
+        TaskSnapshot tasks = snapshot();
+        int[] matchNumbers = new int[tasks.size()];
+        Task[] matches = new Task[tasks.size()];
+        int examinedCount = 0;
+        int matchCount = 0;
+        int fuzzySearchCount = 0;
+
+        long filterStart = System.nanoTime();
+        for (Task task : tasks) {
+            checkNotCancelled();
+            examinedCount++;
+            if (listView.isFuzzySearchNeeded(task.getDescription())) {
+                fuzzySearchCount++;
+            }
+            if (task.inListView(listView)) {
+                matchNumbers[matchCount] = examinedCount;
+                matches[matchCount] = task;
+                matchCount++;
+            }
+        }
+
+        long renderStart = System.nanoTime();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < matchCount; i++) {
+            checkNotCancelled();
+            matches[i].renderTo(builder.append('\n').append(matchNumbers[i]).append('.'), listView);
+        }
+        long renderEnd = System.nanoTime();
+
+        return new QueryPlan("full scan", examinedCount, matchCount, fuzzySearchCount,
+                renderStart - filterStart, renderEnd - renderStart, builder.length());
+    }
+
+    /**
+     * Returns the tasks in a saved view, as kept up to date by the view itself.
+     * @param view A view saved against this list.
+     * @return Tasks in the view represented as a String.
+     */
+    public String view(MaterializedView view) {
+        StringBuilder builder = new StringBuilder();
+        view(view, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the tasks in a saved view to a response, as {@link #view(ListView, StringBuilder)} does.
+     * @param view A view saved against this list.
+     * @param builder The response to append the tasks to.
+     */
+    public void view(MaterializedView view, StringBuilder builder) {
+        view.render(this, builder);
+    }
+
+    /**
+     * Getter.
+     * @return The saved views maintained against this list.
+     */
+    public MaterializedViews getMaterializedViews() {
+        return materializedViews;
+    }
+
+    /**
+     * Getter.
+     * @return The reminders of the deadlines and events in this list.
+     */
+    public Reminders getReminders() {
+        return reminders;
+    }
+
+    /**
+     * Saves a view of this list under a name.
+     * @param name The name of the view.
+     * @param query The command input the view was created from.
+     * @param listView The filter of the view.
+     * @return The saved view.
+     * @throws MikeException If no more views can be saved.
+     */
+    public MaterializedView saveView(String name, String query, ListView listView) throws MikeException {
+        MaterializedView view = new MaterializedView(name, query, listView, this);
+        materializedViews.save(view);
+        return view;
+    }
+
+    /**
+     * Getter.
+     * @return The readers-writer lock guarding this list when it is shared between threads.
+     */
+    public StampedLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Returns a count that changes whenever the list or a task in it is modified.
+     * Responses computed at the same count are still valid.
+     * @return The modification count.
+     */
+    public long getModificationCount() {
+        return current.getVersion();
+    }
+
+    /**
+     * Stops a long scan early if the thread running it was interrupted, e.g. by the user cancelling the command.
+     * @throws CancellationException If the current thread is interrupted.
+     */
+    private static void checkNotCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Command cancelled.");
+        }
+    }
 }
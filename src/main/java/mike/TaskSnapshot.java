@@ -0,0 +1,54 @@
+package mike;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+
+import mike.task.Task;
+
+/**
+ * TaskSnapshot is a read only, point-in-time version of a {@link TaskList}. Taking one is O(1) as it shares the
+ * list's {@link TaskTree}, and later changes to the list build new trees instead of changing this one, so a
+ * snapshot can be read from any thread without a lock while commands carry on changing the list.
+ * @author ningc
+ */
+public final class TaskSnapshot extends AbstractList<Task> {
+    static final TaskSnapshot EMPTY = new TaskSnapshot(null, 0);
+
+    private final TaskTree tree;
+    private final long version;
+
+    TaskSnapshot(TaskTree tree, long version) {
+        this.tree = tree;
+        this.version = version;
+    }
+
+    TaskTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Getter.
+     * @return The {@link TaskList#getModificationCount()} of the list when the snapshot was taken.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return TaskTree.get(tree, index);
+    }
+
+    @Override
+    public int size() {
+        return TaskTree.size(tree);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return TaskTree.iterator(tree);
+    }
+}
@@ -0,0 +1,181 @@
+package mike;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import mike.task.Task;
+
+/**
+ * TaskTree is a persistent sequence of tasks: an AVL tree ordered by position, where every node also records the
+ * size of its subtree. Nodes are never changed after they are built, so an update copies only the O(log n) nodes on
+ * the path to the changed position and shares the rest of the tree with the version it was made from.
+ * @author ningc
+ */
+final class TaskTree {
+    private final Task task;
+    private final TaskTree left;
+    private final TaskTree right;
+    private final int size;
+    private final int height;
+
+    private TaskTree(TaskTree left, Task task, TaskTree right) {
+        this.task = task;
+        this.left = left;
+        this.right = right;
+        this.size = size(left) + 1 + size(right);
+        this.height = Math.max(height(left), height(right)) + 1;
+    }
+
+    /**
+     * Returns the number of tasks in the tree, where the empty tree is null.
+     */
+    static int size(TaskTree tree) {
+        return tree == null ? 0 : tree.size;
+    }
+
+    private static int height(TaskTree tree) {
+        return tree == null ? 0 : tree.height;
+    }
+
+    /**
+     * Builds a balanced tree of the tasks in O(n).
+     * @param tasks The tasks, in order.
+     * @return The tree, or null if there are no tasks.
+     */
+    static TaskTree build(List<? extends Task> tasks) {
+        return build(tasks, 0, tasks.size());
+    }
+
+    private static TaskTree build(List<? extends Task> tasks, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        int middle = (start + end) >>> 1;
+        return new TaskTree(build(tasks, start, middle), tasks.get(middle), build(tasks, middle + 1, end));
+    }
+
+    /**
+     * Returns the task at the index.
+     */
+    static Task get(TaskTree tree, int index) {
+        TaskTree node = tree;
+        int position = index;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node.task;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns a tree with the task at the index replaced.
+     */
+    static TaskTree set(TaskTree tree, int index, Task task) {
+        int leftSize = size(tree.left);
+        if (index < leftSize) {
+            return new TaskTree(set(tree.left, index, task), tree.task, tree.right);
+        } else if (index == leftSize) {
+            return new TaskTree(tree.left, task, tree.right);
+        } else {
+            return new TaskTree(tree.left, tree.task, set(tree.right, index - leftSize - 1, task));
+        }
+    }
+
+    /**
+     * Returns a tree with the task inserted at the index, shifting later tasks along.
+     */
+    static TaskTree insert(TaskTree tree, int index, Task task) {
+        if (tree == null) {
+            return new TaskTree(null, task, null);
+        }
+        int leftSize = size(tree.left);
+        if (index <= leftSize) {
+            return balance(insert(tree.left, index, task), tree.task, tree.right);
+        } else {
+            return balance(tree.left, tree.task, insert(tree.right, index - leftSize - 1, task));
+        }
+    }
+
+    /**
+     * Returns a tree with the task at the index removed, shifting later tasks back.
+     */
+    static TaskTree remove(TaskTree tree, int index) {
+        int leftSize = size(tree.left);
+        if (index < leftSize) {
+            return balance(remove(tree.left, index), tree.task, tree.right);
+        } else if (index > leftSize) {
+            return balance(tree.left, tree.task, remove(tree.right, index - leftSize - 1));
+        } else if (tree.left == null) {
+            return tree.right;
+        } else if (tree.right == null) {
+            return tree.left;
+        } else {
+            Task successor = get(tree.right, 0);
+            return balance(tree.left, successor, remove(tree.right, 0));
+        }
+    }
+
+    private static TaskTree balance(TaskTree left, Task task, TaskTree right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new TaskTree(left.left, left.task, new TaskTree(left.right, task, right));
+            }
+            TaskTree pivot = left.right;
+            return new TaskTree(new TaskTree(left.left, left.task, pivot.left), pivot.task,
+                    new TaskTree(pivot.right, task, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new TaskTree(new TaskTree(left, task, right.left), right.task, right.right);
+            }
+            TaskTree pivot = right.left;
+            return new TaskTree(new TaskTree(left, task, pivot.left), pivot.task,
+                    new TaskTree(pivot.right, right.task, right.right));
+        }
+        return new TaskTree(left, task, right);
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, taking O(1) amortised time per task.
+     */
+    static Iterator<Task> iterator(TaskTree tree) {
+        return new Iterator<Task>() {
+            private final ArrayDeque<TaskTree> path = new ArrayDeque<>();
+
+            {
+                pushLeftSpine(tree);
+            }
+
+            private void pushLeftSpine(TaskTree node) {
+                for (TaskTree current = node; current != null; current = current.left) {
+                    path.push(current);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                TaskTree node = path.pop();
+                pushLeftSpine(node.right);
+                return node.task;
+            }
+        };
+    }
+}
@@ -9,6 +9,9 @@ enum TokenType {
     EXIT, LIST, MARK, UNMARK, TODO, DEADLINE, EVENT, DELETE, FIND,
     ARCHIVE,
 
+    // any other command in the CommandRegistry, built in or registered at runtime
+    COMMAND,
+
     // prefix character tokens
     FORWARD_DASH,
 
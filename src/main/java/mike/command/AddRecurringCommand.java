@@ -0,0 +1,48 @@
+package mike.command;
+
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+import mike.task.RecurringTask;
+import mike.task.Task;
+
+/**
+ * Adds a recurring task to the task list.
+ * @author ningc
+ */
+public class AddRecurringCommand extends AddCommand {
+    private final String startDate;
+    private final String interval;
+    private final String endDate;
+
+    /**
+     * Constructor.
+     * @param description What the task is.
+     * @param startDate The date of the first occurrence.
+     * @param interval How often it recurs, e.g. "1d" or "2w".
+     * @param endDate The last date it may recur on.
+     */
+    public AddRecurringCommand(String description, String startDate, String interval, String endDate) {
+        super(description);
+        this.startDate = startDate;
+        this.interval = interval;
+        this.endDate = endDate;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage) throws MikeException {
+        Task newTask = new RecurringTask(description, startDate, interval, endDate);
+        taskList.add(newTask);
+        return response(taskList, newTask);
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ADD RECURRING " + description + " " + startDate + " " + interval + " " + endDate;
+    }
+}
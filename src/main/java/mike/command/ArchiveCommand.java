@@ -21,7 +21,7 @@ public class ArchiveCommand extends Command {
 
     @Override
     public String execute(TaskList taskList, Storage storage) throws MikeException {
-        storage.archive(fileName);
+        storage.archive(fileName, taskList.snapshot());
         taskList.clear();
         return response();
     }
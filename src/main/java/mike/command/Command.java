@@ -7,6 +7,7 @@ import mike.TaskList;
 /**
  * Base class for all commands.
  * Represents common attributes shared among different types of commands.
+ * Commands are immutable, so a parsed command can be executed any number of times.
  * @author ningc
  */
 public abstract class Command {
@@ -14,9 +15,11 @@ public abstract class Command {
     /**
      * Execute the command.
      * @param taskList The list of tasks to be updated.
+     * @return The response, e.g. a String, or for a long list the builder it was rendered into, which is not
+     *     changed afterwards.
      * @throws MikeException If command is not executed successfully then the exception is thrown.
      */
-    public abstract String execute(TaskList taskList, Storage storage) throws MikeException;
+    public abstract CharSequence execute(TaskList taskList, Storage storage) throws MikeException;
 
     /**
      * Getter.
@@ -24,4 +27,28 @@ public abstract class Command {
      */
     public abstract boolean isExit();
 
+    /**
+     * Checks if the command only reads the task list, so its response can be reused until the list changes.
+     * @return True if the command does not modify the task list or storage, otherwise false.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Checks if the response can be reused until the task list changes, rather than executing the command again.
+     * @return True if the response depends only on the task list, otherwise false.
+     */
+    public boolean isCacheable() {
+        return isReadOnly();
+    }
+
+    /**
+     * Checks if a change the command makes to the task list is recorded, so that it can be undone.
+     * @return True if the change can be undone, otherwise false.
+     */
+    public boolean isUndoable() {
+        return !isReadOnly();
+    }
+
 }
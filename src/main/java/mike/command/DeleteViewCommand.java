@@ -0,0 +1,45 @@
+package mike.command;
+
+import mike.MaterializedView;
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Deletes a saved view.
+ * @author ningc
+ */
+public class DeleteViewCommand extends Command {
+    private final String name;
+
+    /**
+     * Constructor.
+     * @param name The name of the saved view.
+     */
+    public DeleteViewCommand(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage) throws MikeException {
+        MaterializedView view = taskList.getMaterializedViews().remove(name);
+        if (view == null) {
+            throw new MikeException("There is no view called '" + name + "'.");
+        }
+        return response(view);
+    }
+
+    private String response(MaterializedView view) {
+        return "Noted! I've deleted the view '" + view.getName() + "'.";
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "DELETE VIEW " + name;
+    }
+}
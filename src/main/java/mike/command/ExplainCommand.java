@@ -0,0 +1,81 @@
+package mike.command;
+
+import java.util.concurrent.locks.StampedLock;
+
+import mike.ListView;
+import mike.MaterializedView;
+import mike.QueryPlan;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Explains how a list or find query is answered, with the time taken by each stage, instead of listing the tasks.
+ * @author ningc
+ */
+public class ExplainCommand extends Command {
+    private final String query;
+    private final ListView listView;
+
+    /**
+     * Constructor.
+     * @param query The command input of the query, e.g. "find book /fuzzy on".
+     * @param listView The filter of the query.
+     */
+    public ExplainCommand(String query, ListView listView) {
+        this.query = query;
+        this.listView = listView;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage) {
+        QueryPlan plan = taskList.explain(listView);
+        return response(plan, taskList);
+    }
+
+    private String response(QueryPlan plan, TaskList taskList) {
+        StringBuilder response = new StringBuilder("Here is how I answer '" + query + "':")
+                .append("\nAccess path: ").append(plan.getAccessPath())
+                .append("\nTasks examined: ").append(plan.getExaminedCount())
+                .append("\nTasks matched: ").append(plan.getMatchCount())
+                .append("\nFuzzy search: ").append(listView.isFuzzySearchOn()
+                        ? "ran on " + plan.getFuzzySearchCount() + " tasks"
+                        : "off")
+                .append(String.format("\nFilter: %.1f us", plan.getFilterNanos() / 1e3))
+                .append(String.format("\nRender: %.1f us (%d characters)",
+                        plan.getRenderNanos() / 1e3, plan.getRenderedLength()));
+        // the scan reads a snapshot, but the saved views are changed by view save under the write lock
+        StampedLock lock = taskList.getLock();
+        long stamp = lock.readLock();
+        try {
+            for (MaterializedView view : taskList.getMaterializedViews().getAll()) {
+                if (view.getQuery().equals(query)) {
+                    response.append("\nThe saved view '").append(view.getName())
+                            .append("' answers this without a scan: view show ").append(view.getName());
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return response.toString();
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "EXPLAIN " + listView;
+    }
+}
@@ -3,36 +3,24 @@ package mike.command;
 import mike.ListView;
 import mike.ListViewType;
 import mike.MikeException;
-import mike.Storage;
-import mike.TaskList;
 
 
 /**
  * Lists the tasks containing a keyword.
  * @author ningc
  */
-public class FindCommand extends Command {
+public class FindCommand extends ListCommand {
     private final String keyword;
-    private final boolean isFuzzySearchOn;
 
     /**
      * Constructor.
      * @param keyword Keyword to be found.
+     * @param isFuzzySearchOn True if descriptions that almost contain the keyword are also found.
+     * @throws MikeException If the list view cannot be created.
      */
-    public FindCommand(String keyword, boolean isFuzzySearchOn) {
+    public FindCommand(String keyword, boolean isFuzzySearchOn) throws MikeException {
+        super(new ListView(ListViewType.DESCRIPTION, keyword, isFuzzySearchOn));
         this.keyword = keyword;
-        this.isFuzzySearchOn = isFuzzySearchOn;
-    }
-
-    @Override
-    public String execute(TaskList taskList, Storage storage) throws MikeException {
-        ListView listView = new ListView(ListViewType.DESCRIPTION, keyword, isFuzzySearchOn);
-        return new ListCommand(listView).execute(taskList, storage);
-    }
-
-    @Override
-    public boolean isExit() {
-        return false;
     }
 
     @Override
@@ -20,18 +20,27 @@ public class ListCommand extends Command {
         this.listView = listView;
     }
 
+    /**
+     * Getter.
+     * @return The view of the list subject to a filter.
+     */
+    public ListView getListView() {
+        return listView;
+    }
+
     @Override
-    public String execute(TaskList taskList, Storage storage) throws MikeException {
+    public CharSequence execute(TaskList taskList, Storage storage) throws MikeException {
         if (taskList.isEmpty()) {
             throw new MikeException("You have no more tasks Sulley...");
         }
         return response(taskList);
     }
 
-    private String response(TaskList taskList) {
-        return "You and I are a team.\n"
-                + "Here is the task list:"
-                + taskList.view(listView);
+    private CharSequence response(TaskList taskList) {
+        StringBuilder response = new StringBuilder("You and I are a team.\n"
+                + "Here is the task list:");
+        taskList.view(listView, response);
+        return response;
     }
 
     @Override
@@ -39,6 +48,11 @@ public class ListCommand extends Command {
         return false;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return "LIST " + listView;
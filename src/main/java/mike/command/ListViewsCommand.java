@@ -0,0 +1,62 @@
+package mike.command;
+
+import java.util.concurrent.locks.StampedLock;
+
+import mike.MaterializedView;
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Lists the saved views and the memory each one uses.
+ * @author ningc
+ */
+public class ListViewsCommand extends Command {
+
+    @Override
+    public String execute(TaskList taskList, Storage storage) throws MikeException {
+        // views are changed under the write lock, by view save and by every change to the list
+        StampedLock lock = taskList.getLock();
+        long stamp = lock.readLock();
+        try {
+            if (taskList.getMaterializedViews().getAll().isEmpty()) {
+                throw new MikeException("You have no saved views. Try: view save [name] [query]");
+            }
+            return response(taskList);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private String response(TaskList taskList) {
+        StringBuilder builder = new StringBuilder("Here are your saved views:");
+        long totalBytes = 0;
+        for (MaterializedView view : taskList.getMaterializedViews().getAll()) {
+            builder.append("\n").append(view.getName()).append(": ").append(view.getQuery())
+                    .append("\n  ").append(ShowViewCommand.describe(view));
+            totalBytes += view.getMemoryBytes();
+        }
+        return builder.append("\nTotal: ~").append(totalBytes).append(" bytes.").toString();
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        // saving a view does not change the task list, so a cached reply could outlive the view it shows
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "LIST VIEWS";
+    }
+}
@@ -0,0 +1,37 @@
+package mike.command;
+
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Redoes the most recently undone change to the task list.
+ * @author ningc
+ */
+public class RedoCommand extends Command {
+    @Override
+    public String execute(TaskList taskList, Storage storage) throws MikeException {
+        String description = taskList.redo();
+        return response(taskList, description);
+    }
+
+    private String response(TaskList taskList, String description) {
+        return "Okay, I redid '" + description + "'.\n"
+                + "Now you have " + taskList.size() + " tasks in the list.";
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "REDO";
+    }
+}
@@ -0,0 +1,50 @@
+package mike.command;
+
+import mike.ListView;
+import mike.MaterializedView;
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Saves a list or find query as a view that is kept up to date as tasks change.
+ * @author ningc
+ */
+public class SaveViewCommand extends Command {
+    private final String name;
+    private final String query;
+    private final ListView listView;
+
+    /**
+     * Constructor.
+     * @param name The name to save the view under.
+     * @param query The list or find command input.
+     * @param listView The view of the list the query filters by.
+     */
+    public SaveViewCommand(String name, String query, ListView listView) {
+        this.name = name;
+        this.query = query;
+        this.listView = listView;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage) throws MikeException {
+        MaterializedView view = taskList.saveView(name, query, listView);
+        return response(view);
+    }
+
+    private String response(MaterializedView view) {
+        return "Saved view '" + view.getName() + "' for: " + view.getQuery() + "\n"
+                + ShowViewCommand.describe(view);
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "SAVE VIEW " + name + " " + query;
+    }
+}
@@ -0,0 +1,79 @@
+package mike.command;
+
+import java.util.concurrent.locks.StampedLock;
+
+import mike.MaterializedView;
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Lists the tasks in a saved view without rescanning the task list.
+ * @author ningc
+ */
+public class ShowViewCommand extends Command {
+    private final String name;
+
+    /**
+     * Constructor.
+     * @param name The name of the saved view.
+     */
+    public ShowViewCommand(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public CharSequence execute(TaskList taskList, Storage storage) throws MikeException {
+        // views are changed under the write lock, by view save and by every change to the list
+        StampedLock lock = taskList.getLock();
+        long stamp = lock.readLock();
+        try {
+            MaterializedView view = taskList.getMaterializedViews().get(name);
+            if (view == null) {
+                throw new MikeException("There is no view called '" + name + "'.");
+            }
+            return response(view, taskList);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private CharSequence response(MaterializedView view, TaskList taskList) {
+        StringBuilder response = new StringBuilder("Here is your view '").append(view.getName()).append("':");
+        taskList.view(view, response);
+        return response;
+    }
+
+    /**
+     * Describes the size of a saved view.
+     * @param view The saved view.
+     * @return The number of matching tasks and the memory the view uses.
+     */
+    static String describe(MaterializedView view) {
+        String matches = view.getMatchCount() < 0
+                ? "Too many matches to keep, so it is rebuilt when shown"
+                : view.getMatchCount() + " matching tasks";
+        return matches + " (~" + view.getMemoryBytes() + " bytes).";
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        // saving a view does not change the task list, so a cached reply could outlive the view it shows
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "SHOW VIEW " + name;
+    }
+}
@@ -0,0 +1,46 @@
+package mike.command;
+
+import mike.Metrics;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Shows how long commands and storage have taken this session, with other counters.
+ * @author ningc
+ */
+public class StatsCommand extends Command {
+    private final Metrics metrics;
+
+    /**
+     * Constructor.
+     * @param metrics The metrics to show.
+     */
+    public StatsCommand(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage) {
+        return "Here is how fast I've been, Sulley:\n" + metrics.report();
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "STATS";
+    }
+}
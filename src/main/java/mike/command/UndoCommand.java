@@ -0,0 +1,37 @@
+package mike.command;
+
+import mike.MikeException;
+import mike.Storage;
+import mike.TaskList;
+
+/**
+ * Undoes the most recent change to the task list.
+ * @author ningc
+ */
+public class UndoCommand extends Command {
+    @Override
+    public String execute(TaskList taskList, Storage storage) throws MikeException {
+        String description = taskList.undo();
+        return response(taskList, description);
+    }
+
+    private String response(TaskList taskList, String description) {
+        return "Okay, I undid '" + description + "'.\n"
+                + "Now you have " + taskList.size() + " tasks in the list.";
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "UNDO";
+    }
+}
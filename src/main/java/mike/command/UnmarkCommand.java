@@ -1,8 +1,12 @@
 package mike.command;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 import mike.MikeException;
 import mike.Storage;
 import mike.TaskList;
+import mike.task.RecurringTask;
 import mike.task.Task;
 
 /**
@@ -11,13 +15,24 @@ import mike.task.Task;
  */
 public class UnmarkCommand extends Command {
     private final int taskNumber;
+    private final String date;
 
     /**
      * Constructor.
      * @param taskNumber The number indexing the task.
      */
     public UnmarkCommand(int taskNumber) {
+        this(taskNumber, null);
+    }
+
+    /**
+     * Constructor for unmarking one occurrence of a {@link RecurringTask}.
+     * @param taskNumber The number indexing the task.
+     * @param date The date of the occurrence, or null for the whole task.
+     */
+    public UnmarkCommand(int taskNumber, String date) {
         this.taskNumber = taskNumber;
+        this.date = date;
     }
 
     @Override
@@ -30,8 +45,21 @@ public class UnmarkCommand extends Command {
             throw new MikeException("That's suspicious. Please enter a number in the range 1-" + taskList.size() + ".");
         }
 
-        Task task = taskList.get(taskIndex);
-        return task.markAsNotDone();
+        Task task = taskList.get(taskIndex).copy();
+        String response = date == null ? task.markAsNotDone() : markAsNotDoneOn(task);
+        taskList.set(taskIndex, task);
+        return response;
+    }
+
+    private String markAsNotDoneOn(Task task) throws MikeException {
+        if (!(task instanceof RecurringTask)) {
+            throw new MikeException("Only recurring tasks can be unmarked on a date.");
+        }
+        try {
+            return ((RecurringTask) task).markAsNotDone(LocalDate.parse(date));
+        } catch (DateTimeParseException e) {
+            throw new MikeException("Please enter a valid date in YYYY-MM-DD format.");
+        }
     }
 
     @Override
@@ -41,6 +69,6 @@ public class UnmarkCommand extends Command {
 
     @Override
     public String toString() {
-        return "UNMARK " + taskNumber;
+        return date == null ? "UNMARK " + taskNumber : "UNMARK " + taskNumber + " " + date;
     }
 }
@@ -1,8 +1,8 @@
 package mike.task;
 
+import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import mike.ListView;
 import mike.ListViewType;
@@ -25,8 +25,8 @@ public class Deadline extends Task {
     public Deadline(String description, String deadline) throws MikeException {
         super(description, TYPE);
         try {
-            this.deadline = LocalDate.parse(deadline);
-        } catch (DateTimeParseException e) {
+            this.deadline = TaskDates.parse(deadline);
+        } catch (DateTimeException e) {
             throw new MikeException("Please enter a valid date in YYYY-MM-DD format.");
         }
         tags.add(ListViewType.DATE);
@@ -38,16 +38,23 @@ public class Deadline extends Task {
     }
 
     private String getDeadline() {
-        return deadline.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
+        return TaskDates.toDisplayString(deadline);
+    }
+
+    @Override
+    public LocalDate getReminderDate() {
+        return deadline;
     }
 
     @Override
     public String getFileEncoding() {
-        return super.getFileEncoding() + "," + deadline;
+        return super.getFileEncoding() + "," + TaskDates.toFileString(deadline);
     }
 
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + getDeadline() + ")";
+    public void render(Appendable out) throws IOException {
+        out.append("[D]");
+        super.render(out);
+        out.append(" (by: ").append(getDeadline()).append(')');
     }
 }
@@ -0,0 +1,70 @@
+package mike.task;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DescriptionPool shares one String between tasks with the same description, as lists repeat the same few
+ * descriptions, e.g. "standup" or "pay rent", many times over. Every {@link Task} interns its description here, so
+ * tasks loaded from file and tasks added by commands both share.
+ * <p>
+ * The pool has {@value #SLOT_COUNT} slots, each holding a weak reference to the last description hashed to it, so it
+ * never grows and never keeps a description alive that no task uses. A description that loses its slot to another
+ * is simply not shared with later tasks.
+ * @author ningc
+ */
+public final class DescriptionPool {
+    /** Power of two. */
+    private static final int SLOT_COUNT = 1 << 16;
+    /** The String object and the header and length of its array, on a 64-bit JVM with compressed pointers. */
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    // generic arrays cannot be created, so the array is created raw and cast
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final WeakReference<String>[] SLOTS = new WeakReference[SLOT_COUNT];
+    private static final LongAdder SAVED_BYTES = new LongAdder();
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Returns the pooled String equal to the description, or pools the description if there is none.
+     * @param description A task description.
+     * @return A String equal to the description.
+     */
+    public static String intern(String description) {
+        int slot = description.hashCode() & (SLOT_COUNT - 1);
+        // racy but safe: a reference seen before its referent is set reads as null, which is just a miss
+        WeakReference<String> reference = SLOTS[slot];
+        String pooled = reference == null ? null : reference.get();
+        if (description.equals(pooled)) {
+            if (pooled != description) {
+                SAVED_BYTES.add(getRetainedBytes(description));
+            }
+            return pooled;
+        }
+        SLOTS[slot] = new WeakReference<>(description);
+        return description;
+    }
+
+    /**
+     * Returns roughly how many bytes of heap pooling has saved so far, counting each description that was replaced
+     * by a pooled one.
+     * @return The saved bytes.
+     */
+    public static long getSavedBytes() {
+        return SAVED_BYTES.sum();
+    }
+
+    private static long getRetainedBytes(String description) {
+        // compact strings keep Latin-1 text in one byte per character
+        int bytesPerChar = 1;
+        for (int i = 0; i < description.length(); i++) {
+            if (description.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return (STRING_OVERHEAD_BYTES + (long) description.length() * bytesPerChar + 7) & ~7L;
+    }
+}
@@ -1,8 +1,8 @@
 package mike.task;
 
+import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import mike.ListView;
 import mike.ListViewType;
@@ -27,9 +27,9 @@ public class Event extends Task {
     public Event(String description, String startDate, String endDate) throws MikeException {
         super(description, TYPE);
         try {
-            this.startDate = LocalDate.parse(startDate);
-            this.endDate = LocalDate.parse(endDate);
-        } catch (DateTimeParseException e) {
+            this.startDate = TaskDates.parse(startDate);
+            this.endDate = TaskDates.parse(endDate);
+        } catch (DateTimeException e) {
             // todo: move this to parser?
             throw new MikeException("Please enter a valid date in YYYY-MM-DD format.");
         }
@@ -42,20 +42,28 @@ public class Event extends Task {
     }
 
     private String getStartDate() {
-        return startDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
+        return TaskDates.toDisplayString(startDate);
     }
 
     private String getEndDate() {
-        return endDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
+        return TaskDates.toDisplayString(endDate);
+    }
+
+    @Override
+    public LocalDate getReminderDate() {
+        return startDate;
     }
 
     @Override
     public String getFileEncoding() {
-        return super.getFileEncoding() + "," + getStartDate() + "," + getEndDate();
+        return super.getFileEncoding() + "," + TaskDates.toFileString(startDate) + ","
+                + TaskDates.toFileString(endDate);
     }
 
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (from: " + getStartDate() + " to: " + getEndDate() + ")";
+    public void render(Appendable out) throws IOException {
+        out.append("[E]");
+        super.render(out);
+        out.append(" (from: ").append(getStartDate()).append(" to: ").append(getEndDate()).append(')');
     }
 }
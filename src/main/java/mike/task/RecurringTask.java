@@ -0,0 +1,235 @@
+package mike.task;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+
+import mike.ListView;
+import mike.ListViewType;
+import mike.MikeException;
+
+/**
+ * A task that recurs every few days, weeks, months or years between two dates, e.g. a daily standup.
+ * It is stored once, however many times it recurs: a list on a date only works out whether the task falls on that
+ * date, and shows that one occurrence.
+ * <p>
+ * Each occurrence is done if the whole task is, unless it was marked or unmarked on its own. Those occurrences are
+ * kept in a sparse map from date to done state, so only the occurrences that differ cost memory.
+ * @author ningc
+ */
+public class RecurringTask extends Task {
+    private static final String TYPE = "Recurring";
+    private static final String INTERVAL_MESSAGE =
+            "Please enter how often it recurs as a number and d, w, m or y, e.g. 1d or 2w.";
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String interval;
+    private final int intervalAmount;
+    private final ChronoUnit intervalUnit;
+    private TreeMap<LocalDate, Boolean> occurrenceOverrides;
+
+    /**
+     * Constructor.
+     * @param description What the task is.
+     * @param startDate The date of the first occurrence.
+     * @param interval How often it recurs, e.g. "1d", "2w", "1m" or "1y".
+     * @param endDate The last date it may recur on.
+     * @throws MikeException If a date cannot be parsed, the interval is not valid or the task ends before it starts.
+     */
+    public RecurringTask(String description, String startDate, String interval, String endDate) throws MikeException {
+        super(description, TYPE);
+        try {
+            this.startDate = TaskDates.parse(startDate);
+            this.endDate = TaskDates.parse(endDate);
+        } catch (DateTimeException e) {
+            throw new MikeException("Please enter a valid date in YYYY-MM-DD format.");
+        }
+        if (this.endDate.isBefore(this.startDate)) {
+            throw new MikeException("A recurring task cannot end before it starts.");
+        }
+        this.interval = interval;
+        this.intervalAmount = parseIntervalAmount(interval);
+        this.intervalUnit = parseIntervalUnit(interval);
+        this.occurrenceOverrides = new TreeMap<>();
+        tags.add(ListViewType.DATE);
+    }
+
+    /**
+     * Constructor for a recurring task read from file.
+     * @param overrides The occurrences marked on their own, as written by {@link #getFileEncoding()}.
+     * @throws MikeException If the task or its occurrences cannot be parsed.
+     */
+    public RecurringTask(String description, String startDate, String interval, String endDate, String overrides)
+            throws MikeException {
+        this(description, startDate, interval, endDate);
+        for (String override : overrides.split(";")) {
+            if (override.length() < 2) {
+                continue;
+            }
+            try {
+                occurrenceOverrides.put(TaskDates.parse(override.substring(1)), override.charAt(0) == '+');
+            } catch (DateTimeException e) {
+                throw new MikeException("File corrupted. Unable to load saved data.");
+            }
+        }
+    }
+
+    private static int parseIntervalAmount(String interval) throws MikeException {
+        try {
+            int amount = Integer.parseInt(interval.substring(0, interval.length() - 1));
+            if (amount <= 0) {
+                throw new MikeException(INTERVAL_MESSAGE);
+            }
+            return amount;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new MikeException(INTERVAL_MESSAGE);
+        }
+    }
+
+    private static ChronoUnit parseIntervalUnit(String interval) throws MikeException {
+        switch (interval.charAt(interval.length() - 1)) {
+        case 'd':
+            return ChronoUnit.DAYS;
+        case 'w':
+            return ChronoUnit.WEEKS;
+        case 'm':
+            return ChronoUnit.MONTHS;
+        case 'y':
+            return ChronoUnit.YEARS;
+        default:
+            throw new MikeException(INTERVAL_MESSAGE);
+        }
+    }
+
+    /**
+     * Checks if the task recurs on the date, without listing its occurrences.
+     * @param date The date.
+     * @return True if an occurrence falls on the date, otherwise false.
+     */
+    public boolean occursOn(LocalDate date) {
+        if (date.isBefore(startDate) || date.isAfter(endDate)) {
+            return false;
+        }
+        if (intervalUnit == ChronoUnit.DAYS || intervalUnit == ChronoUnit.WEEKS) {
+            long step = intervalUnit == ChronoUnit.WEEKS ? 7L * intervalAmount : intervalAmount;
+            return ChronoUnit.DAYS.between(startDate, date) % step == 0;
+        }
+        // months and years are counted from the start, so the 31st falls on the last day of shorter months
+        long months = ChronoUnit.MONTHS.between(startDate, date);
+        long step = intervalUnit == ChronoUnit.YEARS ? 12L * intervalAmount : intervalAmount;
+        return isOccurrence(months, step, date) || isOccurrence(months + 1, step, date);
+    }
+
+    private boolean isOccurrence(long months, long step, LocalDate date) {
+        return months % step == 0 && startDate.plusMonths(months).equals(date);
+    }
+
+    @Override
+    public boolean inListView(ListView listView) {
+        return super.inListView(listView)
+                && (listView.getType() != ListViewType.DATE || occursOn(listView.getDate()));
+    }
+
+    @Override
+    public Task copy() {
+        RecurringTask copy = (RecurringTask) super.copy();
+        copy.occurrenceOverrides = new TreeMap<>(occurrenceOverrides);
+        return copy;
+    }
+
+    /**
+     * Checks if the occurrence on the date is done.
+     * @param date The date of an occurrence.
+     * @return True if the occurrence was marked on its own, or the whole task is done and it was not unmarked.
+     */
+    public boolean isDoneOn(LocalDate date) {
+        Boolean isOverridden = occurrenceOverrides.get(date);
+        return isOverridden == null ? getIsDone().equals("true") : isOverridden;
+    }
+
+    /**
+     * Marks the occurrence on the date as done, leaving the other occurrences as they are.
+     * @param date The date of an occurrence.
+     * @return The response to show.
+     * @throws MikeException If the task does not recur on the date.
+     */
+    public String markAsDone(LocalDate date) throws MikeException {
+        String response = isDoneOn(date)
+                ? "This occurrence is already done:"
+                : "Nice! I've marked this occurrence as done:";
+        setDoneOn(date, true);
+        return renderOccurrence(new StringBuilder(response).append("\n  "), date).toString();
+    }
+
+    /**
+     * Marks the occurrence on the date as not done, leaving the other occurrences as they are.
+     * @param date The date of an occurrence.
+     * @return The response to show.
+     * @throws MikeException If the task does not recur on the date.
+     */
+    public String markAsNotDone(LocalDate date) throws MikeException {
+        String response = isDoneOn(date)
+                ? "I've marked this occurrence as not done:"
+                : "This occurrence was never done:";
+        setDoneOn(date, false);
+        return renderOccurrence(new StringBuilder(response).append("\n  "), date).toString();
+    }
+
+    private void setDoneOn(LocalDate date, boolean isDone) throws MikeException {
+        if (!occursOn(date)) {
+            throw new MikeException("'" + description + "' does not recur on " + TaskDates.toDisplayString(date) + ".");
+        }
+        occurrenceOverrides.put(date, isDone);
+    }
+
+    private StringBuilder renderOccurrence(StringBuilder builder, LocalDate date) {
+        try {
+            render(builder, date);
+        } catch (IOException e) {
+            throw new AssertionError("a StringBuilder does not throw", e);
+        }
+        return builder;
+    }
+
+    private void render(Appendable out, LocalDate date) throws IOException {
+        out.append("[R][").append(isDoneOn(date) ? 'X' : ' ').append("] ").append(description)
+                .append(" (on: ").append(TaskDates.toDisplayString(date)).append(", every ").append(interval)
+                .append(')');
+    }
+
+    @Override
+    public void render(Appendable out, ListView listView) throws IOException {
+        if (listView.getType() == ListViewType.DATE) {
+            render(out, listView.getDate());
+        } else {
+            render(out);
+        }
+    }
+
+    @Override
+    public void render(Appendable out) throws IOException {
+        out.append("[R]");
+        super.render(out);
+        out.append(" (every ").append(interval).append(" from: ").append(TaskDates.toDisplayString(startDate))
+                .append(" until: ").append(TaskDates.toDisplayString(endDate)).append(')');
+    }
+
+    @Override
+    public String getFileEncoding() {
+        StringBuilder encoding = new StringBuilder(super.getFileEncoding()).append(',')
+                .append(TaskDates.toFileString(startDate)).append(',').append(interval).append(',')
+                .append(TaskDates.toFileString(endDate));
+        // format: ...,startDate,interval,endDate,+doneDate;-notDoneDate;... with the last field left out if empty
+        char separator = ',';
+        for (Map.Entry<LocalDate, Boolean> override : occurrenceOverrides.entrySet()) {
+            encoding.append(separator).append(override.getValue() ? '+' : '-')
+                    .append(TaskDates.toFileString(override.getKey()));
+            separator = ';';
+        }
+        return encoding.toString();
+    }
+}
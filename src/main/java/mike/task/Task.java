@@ -1,5 +1,7 @@
 package mike.task;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 
 import mike.ListView;
@@ -10,7 +12,7 @@ import mike.ListViewType;
  * Represents common attributes shared among different types of tasks.
  * @author ningc
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
     protected final String description;
     protected final ArrayList<ListViewType> tags;
     private final String type;
@@ -18,11 +20,11 @@ public abstract class Task {
 
     /**
      * Constructor.
-     * @param description What the task does.
+     * @param description What the task does, shared with other tasks through the {@link DescriptionPool}.
      * @param type The type of the task.
      */
     public Task(String description, String type) {
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
         this.isDone = false;
         this.type = type;
         this.tags = new ArrayList<ListViewType>();
@@ -39,29 +41,50 @@ public abstract class Task {
         return tags.contains(listView.getType()) && listView.keywordFilter(description);
     }
 
+    /**
+     * Returns a copy of the task, e.g. to mark without changing the task seen by a
+     * {@link mike.TaskList#snapshot()}. The copy shares the immutable description, tags and dates.
+     * @return The copy.
+     */
+    public Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     /**
      * Mark a task as done.
      */
     public String markAsDone() {
-        String response = this.isDone ? "This task is already done:" : "Nice! I've marked this task as done:";
+        StringBuilder response = new StringBuilder(
+                isDone ? "This task is already done:" : "Nice! I've marked this task as done:");
         this.isDone = true;
-        return response + "\n  " + this;
+        renderTo(response.append("\n  "));
+        return response.toString();
     }
 
     /**
      * Mark a task as not done.
      */
     public String markAsNotDone() {
-        String response = this.isDone ? "I've marked this task as not done:" : "This task was never done:";
+        StringBuilder response = new StringBuilder(
+                isDone ? "I've marked this task as not done:" : "This task was never done:");
         this.isDone = false;
-        return response + "\n  " + this;
+        renderTo(response.append("\n  "));
+        return response.toString();
     }
 
-    private String getStatusIcon() {
-        return (isDone ? "X" : " ");
+    private char getStatusIcon() {
+        return isDone ? 'X' : ' ';
     }
 
-    private String getDescription() {
+    /**
+     * Getter.
+     * @return What the task does.
+     */
+    public String getDescription() {
         return description;
     }
 
@@ -81,6 +104,14 @@ public abstract class Task {
         return type;
     }
 
+    /**
+     * Getter.
+     * @return The date users are reminded of the task before, or null if the task has none.
+     */
+    public LocalDate getReminderDate() {
+        return null;
+    }
+
     /**
      * Getter.
      * @return The encoding of Task that is written to file.
@@ -89,7 +120,54 @@ public abstract class Task {
         return getType() + "," + getDescription() + "," + getIsDone();
     }
 
-    public String toString() {
-        return "[" + getStatusIcon() + "] " + getDescription();
+    /**
+     * Appends the task as shown to users, e.g. "[T][X] read book", without building it as a String first.
+     * Subclasses append their type before calling this, and their dates after.
+     * @param out Where to append the task.
+     */
+    public void render(Appendable out) throws IOException {
+        out.append('[').append(getStatusIcon()).append("] ").append(description);
+    }
+
+    /**
+     * Appends the task as shown in a list view. Most tasks look the same in every view, but a
+     * {@link RecurringTask} listed on a date shows only its occurrence on that date.
+     * @param out Where to append the task.
+     * @param listView The view the task is listed in.
+     */
+    public void render(Appendable out, ListView listView) throws IOException {
+        render(out);
+    }
+
+    /**
+     * Appends the task as shown in a list view, as {@link #render(Appendable, ListView)} does.
+     * @param builder Where to append the task.
+     * @param listView The view the task is listed in.
+     */
+    public final void renderTo(StringBuilder builder, ListView listView) {
+        try {
+            render(builder, listView);
+        } catch (IOException e) {
+            throw new AssertionError("a StringBuilder does not throw", e);
+        }
+    }
+
+    /**
+     * Appends the task as shown to users, as {@link #render(Appendable)} does, e.g. after its number in a list.
+     * @param builder Where to append the task.
+     */
+    public final void renderTo(StringBuilder builder) {
+        try {
+            render(builder);
+        } catch (IOException e) {
+            throw new AssertionError("a StringBuilder does not throw", e);
+        }
+    }
+
+    @Override
+    public final String toString() {
+        StringBuilder builder = new StringBuilder();
+        renderTo(builder);
+        return builder.toString();
     }
 }
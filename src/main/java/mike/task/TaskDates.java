@@ -0,0 +1,90 @@
+package mike.task;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats and parses the dates of tasks. The formatted forms of recent dates are cached by epoch day, as a list
+ * shows the same few hundred dates over and over.
+ * Dates are shown as "MMM dd yyyy" and saved as ISO dates, e.g. "2023-09-14", which are also what users type.
+ * @author ningc
+ */
+final class TaskDates {
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    /** Power of two, about eleven years of days. */
+    private static final int CACHE_SIZE = 4096;
+    private static final FormattedDate[] CACHE = new FormattedDate[CACHE_SIZE];
+
+    private TaskDates() {
+    }
+
+    /**
+     * Returns the date as shown to users, e.g. "Sep 14 2023".
+     */
+    static String toDisplayString(LocalDate date) {
+        return getFormattedDate(date).displayString;
+    }
+
+    /**
+     * Returns the date as saved to file, e.g. "2023-09-14".
+     */
+    static String toFileString(LocalDate date) {
+        return getFormattedDate(date).fileString;
+    }
+
+    private static FormattedDate getFormattedDate(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = (int) epochDay & (CACHE_SIZE - 1);
+        // racy but safe, as entries are immutable; a lost update only costs a format
+        FormattedDate formattedDate = CACHE[slot];
+        if (formattedDate == null || formattedDate.epochDay != epochDay) {
+            formattedDate = new FormattedDate(epochDay, date.format(DISPLAY_FORMAT), date.toString());
+            CACHE[slot] = formattedDate;
+        }
+        return formattedDate;
+    }
+
+    /**
+     * Parses a date in ISO format, e.g. "2023-09-14".
+     * @throws DateTimeException If the text is not a valid ISO date.
+     */
+    static LocalDate parse(String text) throws DateTimeException {
+        if (isIsoDate(text)) {
+            return LocalDate.of(parseDigits(text, 0, 4), parseDigits(text, 5, 7), parseDigits(text, 8, 10));
+        }
+        return LocalDate.parse(text);
+    }
+
+    private static boolean isIsoDate(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i != 4 && i != 7 && (text.charAt(i) < '0' || text.charAt(i) > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static class FormattedDate {
+        private final long epochDay;
+        private final String displayString;
+        private final String fileString;
+
+        FormattedDate(long epochDay, String displayString, String fileString) {
+            this.epochDay = epochDay;
+            this.displayString = displayString;
+            this.fileString = fileString;
+        }
+    }
+}
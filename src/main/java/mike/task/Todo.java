@@ -1,5 +1,7 @@
 package mike.task;
 
+import java.io.IOException;
+
 /**
  * A Todo task.
  * @author ningc
@@ -16,7 +18,8 @@ public class Todo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    public void render(Appendable out) throws IOException {
+        out.append("[T]");
+        super.render(out);
     }
 }
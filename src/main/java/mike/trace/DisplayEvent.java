@@ -0,0 +1,35 @@
+package mike.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for adding messages to the chat in the main window.
+ * @author ningc
+ */
+@Name("mike.Display")
+@Label("Display Messages")
+@Category({"Mike", "GUI"})
+@Description("Adding of messages to the chat in the main window")
+@StackTrace(false)
+public class DisplayEvent extends Event {
+    @Label("Message Count")
+    private int messageCount;
+
+    @Label("Text Length")
+    @DataAmount(DataAmount.BYTES)
+    private long textLength;
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public void setTextLength(long textLength) {
+        this.textLength = textLength;
+    }
+}
@@ -0,0 +1,51 @@
+package mike.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for executing a command, or answering it from the response cache.
+ * @author ningc
+ */
+@Name("mike.Execute")
+@Label("Execute Command")
+@Category({"Mike", "Command"})
+@Description("Execution of a parsed command against the task list")
+@StackTrace(false)
+public class ExecuteEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Task Count")
+    @Description("Tasks in the list after the command")
+    private int taskCount;
+
+    @Label("Cached")
+    @Description("True if the response was reused rather than built")
+    private boolean isCached;
+
+    @Label("Response Length")
+    @DataAmount(DataAmount.BYTES)
+    private int responseLength;
+
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public void setCached(boolean isCached) {
+        this.isCached = isCached;
+    }
+
+    public void setResponseLength(int responseLength) {
+        this.responseLength = responseLength;
+    }
+}
@@ -0,0 +1,40 @@
+package mike.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for filtering the task list through a list view, e.g. for a list or find command.
+ * @author ningc
+ */
+@Name("mike.Filter")
+@Label("Filter Tasks")
+@Category({"Mike", "Command"})
+@Description("Filtering of the task list through a list view")
+@StackTrace(false)
+public class FilterEvent extends Event {
+    @Label("Examined Count")
+    private int examinedCount;
+
+    @Label("Match Count")
+    private int matchCount;
+
+    @Label("Fuzzy Search")
+    private boolean isFuzzySearchOn;
+
+    public void setExaminedCount(int examinedCount) {
+        this.examinedCount = examinedCount;
+    }
+
+    public void setMatchCount(int matchCount) {
+        this.matchCount = matchCount;
+    }
+
+    public void setFuzzySearchOn(boolean isFuzzySearchOn) {
+        this.isFuzzySearchOn = isFuzzySearchOn;
+    }
+}
@@ -0,0 +1,33 @@
+package mike.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for parsing scanned tokens into a command.
+ * @author ningc
+ */
+@Name("mike.Parse")
+@Label("Parse Command")
+@Category({"Mike", "Command"})
+@Description("Parsing of scanned tokens into a command")
+@StackTrace(false)
+public class ParseEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Succeeded")
+    private boolean isSucceeded;
+
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    public void setSucceeded(boolean isSucceeded) {
+        this.isSucceeded = isSucceeded;
+    }
+}
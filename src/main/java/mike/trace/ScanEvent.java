@@ -0,0 +1,36 @@
+package mike.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for scanning a command input into tokens. Inputs answered from the command cache are not
+ * scanned, so they have no scan event.
+ * @author ningc
+ */
+@Name("mike.Scan")
+@Label("Scan Command")
+@Category({"Mike", "Command"})
+@Description("Scanning of a command input into tokens")
+@StackTrace(false)
+public class ScanEvent extends Event {
+    @Label("Input Length")
+    @DataAmount(DataAmount.BYTES)
+    private int inputLength;
+
+    @Label("Token Count")
+    private int tokenCount;
+
+    public void setInputLength(int inputLength) {
+        this.inputLength = inputLength;
+    }
+
+    public void setTokenCount(int tokenCount) {
+        this.tokenCount = tokenCount;
+    }
+}
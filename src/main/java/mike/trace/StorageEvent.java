@@ -0,0 +1,49 @@
+package mike.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for loading, writing or archiving the task file.
+ * @author ningc
+ */
+@Name("mike.Storage")
+@Label("Storage I/O")
+@Category({"Mike", "Storage"})
+@Description("Loading, writing or archiving of the task file")
+@StackTrace(false)
+public class StorageEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("File Size")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,33 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChatHistoryTest {
+    @Test
+    public void getSpillCount_overCapacity_spillsBatch() {
+        ChatHistory chatHistory = new ChatHistory("./unused.txt", 8);
+
+        assertEquals(0, chatHistory.getSpillCount(8));
+        assertEquals(3, chatHistory.getSpillCount(9));
+    }
+
+    @Test
+    public void spill_multiLineMessages_oneLineEach() throws IOException {
+        File file = File.createTempFile("transcript", ".txt");
+        file.deleteOnExit();
+        ChatHistory chatHistory = new ChatHistory(file.getPath(), 8);
+
+        chatHistory.spill(List.of(new ChatMessage(true, "list"), new ChatMessage(false, "Here is\nthe list")));
+        chatHistory.spill(List.of(new ChatMessage(true, "bye")));
+
+        assertEquals(List.of("user,list", "mike,Here is\\nthe list", "user,bye"), Files.readAllLines(file.toPath()));
+        assertEquals(3, chatHistory.getSpilledCount());
+    }
+}
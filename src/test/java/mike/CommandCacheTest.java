@@ -0,0 +1,46 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import mike.command.Command;
+import mike.command.ExitCommand;
+import mike.command.ListCommand;
+
+public class CommandCacheTest {
+    @Test
+    public void get_trailingWhiteSpace_sameEntry() {
+        CommandCache cache = new CommandCache();
+        Command command = new ExitCommand();
+        cache.put("bye", command);
+
+        assertSame(command, cache.get("bye \t").getCommand());
+        assertNull(cache.get(" bye"));
+    }
+
+    @Test
+    public void put_overCapacity_leastRecentlyUsedEvicted() {
+        CommandCache cache = new CommandCache(2);
+        cache.put("a", new ExitCommand());
+        cache.put("b", new ExitCommand());
+        cache.get("a");
+        cache.put("c", new ExitCommand());
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals("EXIT", cache.get("a").getCommand().toString());
+    }
+
+    @Test
+    public void getResponse_modificationCountChanged_null() throws MikeException {
+        CommandCache cache = new CommandCache();
+        CommandCache.Entry entry = cache.put("list", new ListCommand(new ListView(ListViewType.NONE)));
+        entry.setResponse("cached", 3);
+
+        assertEquals("cached", entry.getResponse(3));
+        assertNull(entry.getResponse(4));
+    }
+}
@@ -1,6 +1,7 @@
 package mike;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
@@ -9,10 +10,14 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import mike.command.AddDeadlineCommand;
 import mike.command.Command;
 import mike.command.ExitCommand;
+import mike.command.ExplainCommand;
 import mike.command.ListCommand;
+import mike.command.ListViewsCommand;
 import mike.command.MarkCommand;
+import mike.command.UndoCommand;
 
 public class CommandParserTest {
     // command tokens
@@ -225,10 +230,52 @@ public class CommandParserTest {
             new CommandParser(tokens).parse();
             fail();
         } catch (MikeException e) {
-            assertEquals("Usage: mark [number]", e.getMessage());
+            assertEquals("Usage: mark [number] /on [date]", e.getMessage());
         }
     }
 
+    @Test
+    public void parse_registeredCommand_registeredCommand() throws MikeException {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register(new CommandSpec("remind", arguments ->
+                new AddDeadlineCommand(arguments.getText("description"), arguments.getText("on")))
+                .withArgument(new CommandParameter("description", ParameterType.TEXT, "[description]"))
+                .withParameter(new CommandParameter("on", ParameterType.TEXT, "[date]")));
+        CommandScanner scanner = new CommandScanner(registry);
+        CommandParser parser = new CommandParser(scanner);
+
+        scanner.scan("remind pay rent /on 2024-01-31");
+        assertEquals(new AddDeadlineCommand("pay rent", "2024-01-31").toString(), parser.parse().toString());
+
+        // built in commands are still dispatched
+        scanner.scan("mark 1");
+        assertEquals(new MarkCommand(1).toString(), parser.parse().toString());
+
+        scanner.scan("remind pay rent");
+        try {
+            parser.parse();
+            fail();
+        } catch (MikeException e) {
+            assertEquals("Usage: remind [description] /on [date]", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_builtInCommandWithoutTokenType_dispatchedByWord() throws MikeException {
+        CommandScanner scanner = new CommandScanner();
+        CommandParser parser = new CommandParser(scanner);
+
+        scanner.scan("undo");
+        assertEquals(TokenType.COMMAND, scanner.type(0));
+        assertTrue(parser.parse() instanceof UndoCommand);
+
+        scanner.scan("view list");
+        assertTrue(parser.parse() instanceof ListViewsCommand);
+
+        scanner.scan("explain find book");
+        assertTrue(parser.parse() instanceof ExplainCommand);
+    }
+
     private List<Token> createTokenList(Token... tokens) {
         return new ArrayList<Token>(Arrays.asList(tokens));
     }
@@ -1,6 +1,7 @@
 package mike;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -58,6 +59,24 @@ public class CommandScannerTest {
         assertEquals(expectedList.toString(), outputList.toString());
     }
 
+    @Test
+    public void scan_reusedScanner_tokensOverSource() {
+        CommandScanner scanner = new CommandScanner();
+
+        // first input fills the buffer
+        assertEquals(6, scanner.scan("find meeting /fuzzy on"));
+        scanner.scan("deadline return book /by 2024-01-31");
+
+        // second input replaces it
+        assertEquals(3, scanner.scan("mark  12 "));
+        assertEquals(TokenType.MARK, scanner.type(0));
+        assertEquals(TokenType.LITERAL, scanner.type(1));
+        assertEquals("12", scanner.text(1));
+        assertEquals(12, scanner.parseInt(1));
+        assertTrue(scanner.textEquals(0, "mark"));
+        assertEquals(TokenType.EOC, scanner.type(2));
+    }
+
     private List<Token> createTokenList(Token... tokens) {
         return new ArrayList<Token>(Arrays.asList(tokens));
     }
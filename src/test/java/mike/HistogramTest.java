@@ -0,0 +1,32 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+    @Test
+    public void getBucket_powersOfTwo_boundsContainValue() {
+        for (long value = 0; value < 1_000_000; value = value * 3 / 2 + 1) {
+            int bucket = Histogram.getBucket(value);
+            assertTrue(value <= Histogram.getBucketUpperBound(bucket));
+            assertTrue(bucket == 0 || value > Histogram.getBucketUpperBound(bucket - 1));
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.getBucketUpperBound(Histogram.getBucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void getValueAtPercentile_uniformValues_withinBucketError() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "median " + median);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500.0, histogram.getMean());
+    }
+}
@@ -0,0 +1,66 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ListViewTest {
+    private static final String ALPHABET = "abcdeo \u00e9\u00fc\u4e2d";
+
+    @Test
+    public void keywordFilter_fuzzyOneTypo_matches() throws MikeException {
+        ListView listView = new ListView(ListViewType.DESCRIPTION, "bok", true);
+
+        assertTrue(listView.keywordFilter("read book"));
+        assertTrue(new ListView(ListViewType.DESCRIPTION, "caf\u00e9", true).keywordFilter("go to cafe"));
+    }
+
+    @Test
+    public void keywordFilter_fuzzyRandomText_sameAsFullMaskBitap() throws MikeException {
+        Random random = new Random(2103);
+        for (int i = 0; i < 20_000; i++) {
+            String keyword = randomText(random, 1 + random.nextInt(6));
+            String description = randomText(random, random.nextInt(20));
+            ListView listView = new ListView(ListViewType.DESCRIPTION, keyword, true);
+
+            boolean expected = description.contains(keyword) || fullMaskBitap(description, keyword);
+            assertEquals(expected, listView.keywordFilter(description), "'" + keyword + "' in '" + description + "'");
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * The bitap search ListView used before its masks were precomputed, with a mask for every char value.
+     */
+    private static boolean fullMaskBitap(String text, String pattern) {
+        long[] patternMask = new long[Character.MAX_VALUE + 1];
+        for (int i = 0; i <= Character.MAX_VALUE; ++i) {
+            patternMask[i] = ~0;
+        }
+        for (int i = 0; i < pattern.length(); ++i) {
+            patternMask[pattern.charAt(i)] &= ~(1L << i);
+        }
+        long[] r = {~1, ~1};
+        for (int i = 0; i < text.length(); ++i) {
+            long oldRd = r[0];
+            r[0] = (r[0] | patternMask[text.charAt(i)]) << 1;
+            long tmp = r[1];
+            r[1] = (oldRd & (r[1] | patternMask[text.charAt(i)])) << 1;
+            oldRd = tmp;
+            if (0 == (r[1] & (1L << pattern.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mike.task.Deadline;
+import mike.task.Task;
+import mike.task.Todo;
+
+public class MaterializedViewTest {
+    @Test
+    public void view_afterChanges_sameAsRescan() throws MikeException {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        taskList.add(new Todo("buy milk"));
+        ListView bookView = new ListView(ListViewType.DESCRIPTION, "book");
+        ListView dateView = new ListView(ListViewType.DATE, "2024-01-31");
+        MaterializedView books = taskList.saveView("books", "find book", bookView);
+        MaterializedView due = taskList.saveView("due", "list /view date /attribute 2024-01-31", dateView);
+
+        taskList.add(new Deadline("return book", "2024-01-31"));
+        taskList.add(0, new Todo("book club"));
+        taskList.remove(2);
+        Task marked = taskList.get(0).copy();
+        marked.markAsDone();
+        taskList.set(0, marked);
+
+        assertEquals(taskList.view(bookView), taskList.view(books));
+        assertEquals(taskList.view(dateView), taskList.view(due));
+        assertEquals(3, books.getMatchCount());
+        assertEquals(1, due.getMatchCount());
+
+        taskList.clear();
+        assertEquals(0, books.getMatchCount());
+        assertEquals("", taskList.view(books));
+    }
+
+    @Test
+    public void onTaskRemoved_overflowedViewDropsUnderCap_tracksAgain() throws MikeException {
+        TaskList taskList = new TaskList();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i <= MaterializedView.MAX_TRACKED_TASKS; i++) {
+            tasks.add(new Todo("book " + i));
+        }
+        taskList.addAll(tasks);
+        ListView bookView = new ListView(ListViewType.DESCRIPTION, "book");
+        MaterializedView books = taskList.saveView("books", "find book", bookView);
+        assertEquals(-1, books.getMatchCount());
+
+        while (taskList.size() > MaterializedView.REBUILD_MATCH_COUNT + 1) {
+            taskList.remove(taskList.size() - 1);
+        }
+        assertEquals(-1, books.getMatchCount());
+
+        taskList.remove(0);
+        assertEquals(MaterializedView.REBUILD_MATCH_COUNT, books.getMatchCount());
+        taskList.add(0, new Todo("book club"));
+        assertEquals(MaterializedView.REBUILD_MATCH_COUNT + 1, books.getMatchCount());
+        assertEquals(taskList.view(bookView), taskList.view(books));
+    }
+}
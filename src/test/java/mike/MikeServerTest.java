@@ -0,0 +1,19 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class MikeServerTest {
+    @Test
+    public void encodeLine_multiLineResponse_oneLine() {
+        assertEquals("Here are the tasks:\\n1.[T][ ] a\\\\b", MikeServer.encodeLine("Here are the tasks:\n1.[T][ ] a\\b"));
+    }
+
+    @Test
+    public void decodeLine_encodedResponse_originalResponse() {
+        String response = "Here are the tasks:\n1.[T][ ] a\\nb\\";
+
+        assertEquals(response, MikeServer.decodeLine(MikeServer.encodeLine(response)));
+    }
+}
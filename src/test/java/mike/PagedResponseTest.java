@@ -0,0 +1,29 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PagedResponseTest {
+    @Test
+    public void nextPage_longResponse_pagesOfLines() {
+        PagedResponse pages = new PagedResponse("1\n2\n3\n4\n5", 2);
+
+        assertEquals("1\n2", pages.nextPage());
+        assertEquals("3\n4\n5", pages.getRemainingText());
+        assertEquals("3\n4", pages.nextPage());
+        assertTrue(pages.hasNextPage());
+        assertEquals("5", pages.nextPage());
+        assertFalse(pages.hasNextPage());
+    }
+
+    @Test
+    public void nextPage_shortResponse_onePage() {
+        PagedResponse pages = new PagedResponse("Here are the tasks:\n1.[T][ ] read", 50);
+
+        assertEquals("Here are the tasks:\n1.[T][ ] read", pages.nextPage());
+        assertFalse(pages.hasNextPage());
+    }
+}
@@ -0,0 +1,80 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import mike.task.Deadline;
+import mike.task.Task;
+
+public class ReminderWheelTest {
+    @Test
+    public void advanceTo_randomSchedulesAndCancels_firesEachOnItsDay() {
+        Random random = new Random(2103);
+        long start = LocalDate.of(2024, 1, 1).toEpochDay();
+        ReminderWheel<Integer> wheel = new ReminderWheel<>(start);
+        List<Integer> items = new ArrayList<>();
+        long[] dueDays = new long[20_000];
+        for (int i = 0; i < dueDays.length; i++) {
+            items.add(i); // boxed once, as the wheel compares items by identity
+            // mostly within a year, some decades away to reach the higher levels
+            dueDays[i] = start + (i % 10 == 0 ? random.nextInt(20_000) : random.nextInt(400));
+            wheel.schedule(items.get(i), dueDays[i]);
+        }
+        for (int i = 0; i < dueDays.length; i += 3) {
+            assertTrue(wheel.cancel(items.get(i)));
+            dueDays[i] = -1;
+        }
+        for (int i = 1; i < dueDays.length; i += 7) {
+            dueDays[i] = start + random.nextInt(1000);
+            wheel.schedule(items.get(i), dueDays[i]);
+        }
+
+        assertEquals(Arrays.stream(dueDays).filter(dueDay -> dueDay >= 0).count(), wheel.size());
+
+        List<Integer> fired = new ArrayList<>();
+        long day = start;
+        while (day < start + 20_000) {
+            day = Math.min(day + 1 + random.nextInt(90), start + 20_000);
+            fired.clear();
+            wheel.advanceTo(day, fired);
+            for (Integer item : fired) {
+                assertTrue(dueDays[item] <= day && dueDays[item] > day - 91, "item " + item + " fired on " + day);
+                dueDays[item] = -1;
+            }
+        }
+        for (long dueDay : dueDays) {
+            assertEquals(-1, dueDay);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void check_markAndDelete_cancelsReminder() throws MikeException {
+        Clock clock = Clock.fixed(LocalDate.of(2024, 2, 22).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        Reminders reminders = new Reminders(clock);
+        Task returnBook = new Deadline("return book", "2024-02-23");
+        Task essay = new Deadline("essay", "2024-02-23");
+        Task exam = new Deadline("exam", "2024-03-01");
+        reminders.onTasksAdded(List.of(returnBook, essay, exam));
+
+        Task doneEssay = essay.copy();
+        doneEssay.markAsDone();
+        reminders.onTaskChanged(essay, doneEssay);
+        reminders.onTaskRemoved(exam);
+
+        assertEquals(List.of("Reminder, coming up tomorrow:\n  [D][ ] return book (by: Feb 23 2024)"),
+                reminders.check());
+        assertEquals(List.of(), reminders.check());
+        assertEquals(0, reminders.size());
+    }
+}
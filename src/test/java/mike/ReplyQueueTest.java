@@ -0,0 +1,33 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ReplyQueueTest {
+    @Test
+    public void pollReady_pacedReplies_dueRepliesInOrder() {
+        ReplyQueue<String> replyQueue = new ReplyQueue<>(100);
+        replyQueue.offer("first", 0);
+        replyQueue.offer("second", 50);
+
+        assertEquals(List.of(), replyQueue.pollReady(99));
+        assertEquals(List.of("first"), replyQueue.pollReady(100));
+        assertEquals(List.of("second"), replyQueue.pollReady(200));
+        assertTrue(replyQueue.isEmpty());
+    }
+
+    @Test
+    public void pollReady_pacingTurnedOff_queuedRepliesCoalesced() {
+        ReplyQueue<String> replyQueue = new ReplyQueue<>(1_000_000_000L);
+        replyQueue.offer("first", 0);
+        replyQueue.offer("second", 10);
+
+        replyQueue.setPacingNanos(0);
+
+        assertEquals(List.of("first", "second"), replyQueue.pollReady(10));
+    }
+}
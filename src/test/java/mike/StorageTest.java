@@ -0,0 +1,25 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class StorageTest {
+    @Test
+    public void load_corruptedLine_throwsAndKeepsFile() throws IOException {
+        File file = File.createTempFile("tasks", ".txt");
+        file.deleteOnExit();
+        List<String> lines = List.of("Todo,read book,false", "Todo", "Todo,return book,true");
+        Files.write(file.toPath(), lines);
+
+        MikeException e = assertThrows(MikeException.class, () -> new Storage(file.getPath()).load());
+        assertEquals("Line 2: File corrupted. Unable to load saved data.", e.getMessage());
+        assertEquals(lines, Files.readAllLines(file.toPath()));
+    }
+}
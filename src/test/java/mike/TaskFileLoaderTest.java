@@ -0,0 +1,79 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mike.task.Deadline;
+import mike.task.Event;
+import mike.task.Task;
+
+public class TaskFileLoaderTest {
+    private static final int LINE_COUNT = 200_000; // about 5 MB, so several chunks
+
+    private static File writeTaskFile(int malformedLine) throws IOException {
+        List<String> lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 1; i <= LINE_COUNT; i++) {
+            lines.add(i == malformedLine ? "Todo" : "Todo,task " + i + "," + (i % 2 == 0));
+        }
+        File file = File.createTempFile("tasks", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), lines);
+        return file;
+    }
+
+    @Test
+    public void load_manyChunks_tasksInFileOrder() throws IOException, MikeException {
+        List<Task> tasks = new TaskFileLoader(4).load(writeTaskFile(-1), fraction -> { });
+
+        assertEquals(LINE_COUNT, tasks.size());
+        for (int i = 0; i < LINE_COUNT; i += 9973) {
+            assertEquals("task " + (i + 1), tasks.get(i).getDescription());
+        }
+        assertEquals("task " + LINE_COUNT, tasks.get(LINE_COUNT - 1).getDescription());
+    }
+
+    @Test
+    public void load_malformedLineInLaterChunk_reportsFileLineNumber() throws IOException {
+        File file = writeTaskFile(170_001);
+
+        MikeException e = assertThrows(MikeException.class, () -> new TaskFileLoader(4).load(file, fraction -> { }));
+        assertEquals("Line 170001: File corrupted. Unable to load saved data.", e.getMessage());
+    }
+
+    @Test
+    public void extractTask_savedEvent_sameEncoding() throws MikeException {
+        Task event = new Event("conference", "2023-09-14", "2023-09-16");
+        event.markAsDone();
+
+        assertEquals("Event,conference,true,2023-09-14,2023-09-16", event.getFileEncoding());
+        assertEquals(event.getFileEncoding(), TaskFileLoader.extractTask(event.getFileEncoding()).getFileEncoding());
+        assertEquals(event.toString(), TaskFileLoader.extractTask(event.getFileEncoding()).toString());
+    }
+
+    @Test
+    public void extractTask_eventInDisplayFormat_loads() throws MikeException {
+        Task event = TaskFileLoader.extractTask("Event,conference,false,Sep 14 2023,Sep 16 2023");
+
+        assertEquals("Event,conference,false,2023-09-14,2023-09-16", event.getFileEncoding());
+    }
+
+    @Test
+    public void newTask_dateInDisplayFormat_throws() {
+        // only saved event dates may be in the legacy format, not dates users type
+        assertThrows(MikeException.class, () -> new Deadline("essay", "Sep 14 2023"));
+        assertThrows(MikeException.class, () -> new Event("conference", "Sep 14 2023", "Sep 16 2023"));
+    }
+
+    @Test
+    public void extractTask_invalidDate_throws() {
+        assertThrows(MikeException.class, () -> TaskFileLoader.extractTask("Deadline,essay,false,2023-02-30"));
+    }
+}
@@ -0,0 +1,43 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import mike.task.Todo;
+
+public class TaskHistoryTest {
+    @Test
+    public void undo_clearedList_sameTasksRestored() throws MikeException {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        taskList.add(new Todo("buy milk"));
+        TaskSnapshot before = taskList.snapshot();
+
+        taskList.clear();
+        taskList.getHistory().record("archive old", before);
+
+        assertEquals("archive old", taskList.undo());
+        assertSame(before.get(1), taskList.get(1));
+        assertEquals("archive old", taskList.redo());
+        assertEquals(0, taskList.size());
+    }
+
+    @Test
+    public void undo_moreChangesThanDepth_oldestForgotten() throws MikeException {
+        TaskList taskList = new TaskList();
+        TaskHistory history = new TaskHistory(2);
+        for (int i = 0; i < 3; i++) {
+            TaskSnapshot before = taskList.snapshot();
+            taskList.add(new Todo("task " + i));
+            history.record("todo task " + i, before);
+        }
+
+        assertEquals("todo task 2", history.undo(taskList));
+        assertEquals("todo task 1", history.undo(taskList));
+        assertEquals(1, taskList.size());
+        assertThrows(MikeException.class, () -> history.undo(taskList));
+    }
+}
@@ -0,0 +1,90 @@
+package mike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import mike.task.Deadline;
+import mike.task.Event;
+import mike.task.Task;
+import mike.task.Todo;
+
+public class TaskListTest {
+    @Test
+    public void snapshot_laterChanges_snapshotUnchanged() {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        taskList.add(new Todo("buy milk"));
+        TaskSnapshot snapshot = taskList.snapshot();
+
+        Task marked = taskList.get(0).copy();
+        marked.markAsDone();
+        taskList.set(0, marked);
+        taskList.remove(1);
+        taskList.add(new Todo("return book"));
+
+        assertEquals("[[T][ ] read book, [T][ ] buy milk]", snapshot.toString());
+        assertEquals("[[T][X] read book, [T][ ] return book]", taskList.toString());
+        assertEquals(snapshot.getVersion() + 3, taskList.getModificationCount());
+    }
+
+    @Test
+    public void add_randomInsertsAndRemoves_sameAsArrayList() {
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("task " + i);
+                taskList.add(index, task);
+                expected.add(index, task);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), taskList.remove(index));
+            }
+        }
+
+        assertEquals(expected, taskList);
+        assertEquals(expected, new ArrayList<>(taskList.snapshot()));
+    }
+
+    @Test
+    public void explain_fuzzyFind_countsSameAsView() throws MikeException {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        taskList.add(new Todo("buy milk"));
+        taskList.add(new Todo("boak shelf"));
+        ListView listView = new ListView(ListViewType.DESCRIPTION, "book", true);
+
+        QueryPlan plan = taskList.explain(listView);
+
+        assertEquals("full scan", plan.getAccessPath());
+        assertEquals(3, plan.getExaminedCount());
+        assertEquals(2, plan.getMatchCount());
+        assertEquals(2, plan.getFuzzySearchCount());
+        assertEquals(taskList.view(listView).length(), plan.getRenderedLength());
+    }
+
+    @Test
+    public void view_intoResponse_rendersEachTaskOnce() throws MikeException {
+        TaskList taskList = new TaskList();
+        taskList.add(new Todo("read book"));
+        taskList.add(new Deadline("return book", "2023-09-14"));
+        taskList.add(new Event("book fair", "2023-09-15", "2023-09-16"));
+        taskList.get(1).markAsDone();
+        ListView listView = new ListView(ListViewType.NONE);
+        StringBuilder response = new StringBuilder("Here is the task list:");
+
+        taskList.view(listView, response);
+
+        assertEquals("Here is the task list:\n1.[T][ ] read book\n2.[D][X] return book (by: Sep 14 2023)"
+                + "\n3.[E][ ] book fair (from: Sep 15 2023 to: Sep 16 2023)", response.toString());
+        assertEquals(response.substring("Here is the task list:".length()), taskList.view(listView));
+    }
+}
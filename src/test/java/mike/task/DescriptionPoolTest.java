@@ -0,0 +1,18 @@
+package mike.task;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+    @Test
+    public void intern_repeatedDescription_sharesOneString() {
+        long savedBytesBefore = DescriptionPool.getSavedBytes();
+        Task first = new Todo(new String("pay rent tomorrow"));
+        Task second = new Todo(new String("pay rent tomorrow"));
+
+        assertSame(first.getDescription(), second.getDescription());
+        assertTrue(DescriptionPool.getSavedBytes() > savedBytesBefore);
+    }
+}
@@ -0,0 +1,64 @@
+package mike.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import mike.ListView;
+import mike.ListViewType;
+import mike.MikeException;
+import mike.TaskList;
+
+public class RecurringTaskTest {
+    @Test
+    public void view_recurringTaskOnDate_showsOccurrence() throws MikeException {
+        TaskList taskList = new TaskList();
+        taskList.add(new RecurringTask("pay rent", "2024-01-31", "1m", "2024-12-31"));
+        taskList.add(new RecurringTask("standup", "2024-01-01", "1d", "2024-12-31"));
+        RecurringTask marked = (RecurringTask) taskList.get(1).copy();
+        marked.markAsDone(LocalDate.of(2024, 2, 29));
+        taskList.set(1, marked);
+
+        assertEquals("\n1.[R][ ] pay rent (on: Feb 29 2024, every 1m)\n2.[R][X] standup (on: Feb 29 2024, every 1d)",
+                taskList.view(new ListView(ListViewType.DATE, "2024-02-29")));
+        assertEquals("\n2.[R][ ] standup (on: Mar 01 2024, every 1d)",
+                taskList.view(new ListView(ListViewType.DATE, "2024-03-01")));
+        assertEquals("Recurring,standup,false,2024-01-01,1d,2024-12-31,+2024-02-29", marked.getFileEncoding());
+    }
+
+    @Test
+    public void markOccurrence_overridesWholeTask_savedInDateOrder() throws MikeException {
+        RecurringTask standup = new RecurringTask("standup", "2024-01-01", "1w", "2024-12-31");
+        standup.markAsDone();
+        RecurringTask copy = (RecurringTask) standup.copy();
+        standup.markAsNotDone(LocalDate.of(2024, 3, 4));
+        standup.markAsDone(LocalDate.of(2024, 1, 8));
+
+        assertFalse(standup.isDoneOn(LocalDate.of(2024, 3, 4)));
+        assertTrue(standup.isDoneOn(LocalDate.of(2024, 1, 8)));
+        assertTrue(standup.isDoneOn(LocalDate.of(2024, 1, 15)));
+        assertTrue(copy.isDoneOn(LocalDate.of(2024, 3, 4)));
+
+        String encoding = "Recurring,standup,true,2024-01-01,1w,2024-12-31,+2024-01-08;-2024-03-04";
+        assertEquals(encoding, standup.getFileEncoding());
+        RecurringTask loaded = new RecurringTask("standup", "2024-01-01", "1w", "2024-12-31",
+                "+2024-01-08;-2024-03-04");
+        loaded.markAsDone();
+        assertEquals(encoding, loaded.getFileEncoding());
+        assertFalse(loaded.isDoneOn(LocalDate.of(2024, 3, 4)));
+    }
+
+    @Test
+    public void markOccurrence_dateNotRecurring_exceptionThrown() throws MikeException {
+        RecurringTask standup = new RecurringTask("standup", "2024-01-01", "1w", "2024-12-31");
+
+        MikeException e = assertThrows(MikeException.class, () -> standup.markAsDone(LocalDate.of(2024, 1, 2)));
+        assertEquals("'standup' does not recur on Jan 02 2024.", e.getMessage());
+        assertEquals("Recurring,standup,false,2024-01-01,1w,2024-12-31", standup.getFileEncoding());
+    }
+}